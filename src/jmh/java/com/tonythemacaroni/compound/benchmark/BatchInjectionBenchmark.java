@@ -0,0 +1,95 @@
+package com.tonythemacaroni.compound.benchmark;
+
+import java.io.File;
+import java.util.Map;
+import java.util.List;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.ConfigurationSection;
+
+import com.tonythemacaroni.compound.util.BatchResult;
+import com.tonythemacaroni.compound.annotations.Config;
+
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchInjectionBenchmark {
+
+    @Param({"50", "500"})
+    private int kits;
+
+    private BenchmarkPlugin plugin;
+    private ConfigurationSection section;
+
+    @Setup
+    public void setup() {
+        plugin = new BenchmarkPlugin(new File("build/jmh-data"));
+
+        section = new MemoryConfiguration().createSection("kits");
+        for (int i = 0; i < kits; i++) {
+            section.set("kit" + i + ".name", "&aKit " + i);
+            section.set("kit" + i + ".cost", i * 10);
+            section.set("kit" + i + ".cooldown", "30s");
+            section.set("kit" + i + ".items", Arrays.asList("diamond_sword", "bow", "arrow"));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Kit> perObject() {
+        Map<String, Kit> result = new HashMap<>();
+
+        for (String key : section.getKeys(false)) {
+            Kit kit = new Kit();
+            if (plugin.injectConfig(kit, section, "kits", key)) result.put(key, kit);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public BatchResult<Kit> batch() {
+        return plugin.injectAll(Kit.class, section);
+    }
+
+    @Benchmark
+    public BatchResult<Kit> batchParallel() {
+        return plugin.injectAll(Kit.class, section, ForkJoinPool.commonPool());
+    }
+
+    public static class Kit {
+
+        @Config(colorize = true)
+        private String name;
+
+        @Config
+        private int cost;
+
+        @Config
+        private Duration cooldown;
+
+        @Config
+        private List<String> items;
+
+    }
+
+}
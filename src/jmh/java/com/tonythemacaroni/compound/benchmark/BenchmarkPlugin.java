@@ -0,0 +1,76 @@
+package com.tonythemacaroni.compound.benchmark;
+
+import java.io.File;
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.lang.reflect.Proxy;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import com.tonythemacaroni.compound.CompoundPlugin;
+import com.tonythemacaroni.compound.util.ComponentData;
+
+public class BenchmarkPlugin extends CompoundPlugin {
+
+    private static final Logger LOGGER = Logger.getLogger("CompoundBenchmark");
+
+    static {
+        // Per-component info logging would dominate the startup benchmarks.
+        LOGGER.setLevel(Level.WARNING);
+    }
+
+    private final Map<String, ComponentData> syntheticComponents = new LinkedHashMap<>();
+
+    @SuppressWarnings("deprecation")
+    public BenchmarkPlugin(File dataFolder) {
+        super(
+            new JavaPluginLoader(createServer()),
+            new PluginDescriptionFile("CompoundBenchmark", "1.0", BenchmarkPlugin.class.getName()),
+            dataFolder,
+            new File(dataFolder, "CompoundBenchmark.jar")
+        );
+    }
+
+    public void addComponent(String name, Class<?> type, String... depends) {
+        syntheticComponents.put(name, new ComponentData(type.getName(), name, name, depends, getName()));
+    }
+
+    // onEnable takes its logger from here, the PluginLogger of JavaPlugin would log every component at info level.
+    @Override
+    public Logger getLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    protected Map<String, ComponentData> discoverComponents() {
+        return new LinkedHashMap<>(syntheticComponents);
+    }
+
+    @Override
+    protected boolean shouldWatchConfigs() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldUseStartupSnapshot() {
+        return false;
+    }
+
+    private static Server createServer() {
+        return (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[] {Server.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getLogger")) return LOGGER;
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) return false;
+            if (returnType == int.class) return 0;
+            if (returnType == long.class) return 0L;
+
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.tonythemacaroni.compound.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.tonythemacaroni.compound.util.Colorizer;
+
+// Run with -prof gc to compare allocation per call.
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorizeBenchmark {
+
+    @Param({"plain", "legacy", "hex"})
+    private String input;
+
+    private String string;
+    private Colorizer colorizer;
+
+    @Setup
+    public void setup() {
+        switch (input) {
+            case "plain":
+                string = "Welcome to the arena, good luck!";
+                break;
+            case "legacy":
+                string = "&6&lArena &8» &7Welcome to the arena, &agood luck&7!";
+                break;
+            default:
+                string = "&#ff8800Arena &8» &#aaaaaaWelcome to the arena, &#55ff55good luck&7!";
+        }
+
+        colorizer = new Colorizer();
+    }
+
+    @Benchmark
+    public String legacy() {
+        return LegacyInjector.colorize(string);
+    }
+
+    @Benchmark
+    public String translate() {
+        return Colorizer.translate(string);
+    }
+
+    @Benchmark
+    public String cached() {
+        return colorizer.colorize(string);
+    }
+
+}
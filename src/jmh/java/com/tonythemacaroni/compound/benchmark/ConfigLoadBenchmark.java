@@ -0,0 +1,77 @@
+package com.tonythemacaroni.compound.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigLoadBenchmark {
+
+    private static final String FILE = "big.yml";
+
+    @Param({"100", "5000"})
+    private int sections;
+
+    private BenchmarkPlugin plugin;
+
+    @Setup
+    public void setup() throws IOException {
+        File dataFolder = new File("build/jmh-data/config-" + sections);
+        Files.createDirectories(dataFolder.toPath());
+
+        StringBuilder yaml = new StringBuilder();
+        for (int i = 0; i < sections; i++) {
+            yaml.append("section").append(i).append(":\n")
+                .append("  name: '&aSection ").append(i).append("'\n")
+                .append("  amount: ").append(i).append('\n')
+                .append("  ratio: ").append(i / 3.0).append('\n')
+                .append("  enabled: ").append(i % 2 == 0).append('\n')
+                .append("  items:\n")
+                .append("  - stone\n")
+                .append("  - dirt\n");
+        }
+
+        Files.write(new File(dataFolder, FILE).toPath(), yaml.toString().getBytes(StandardCharsets.UTF_8));
+
+        plugin = new BenchmarkPlugin(dataFolder);
+    }
+
+    @Benchmark
+    public YamlConfiguration parse() {
+        plugin.getConfigCache().invalidate(FILE);
+        return plugin.getConfigCache().get(FILE);
+    }
+
+    @Benchmark
+    public YamlConfiguration cached() {
+        return plugin.getConfigCache().get(FILE);
+    }
+
+    // What plugin code pays for loadConfig, which copies the cached config.
+    @Benchmark
+    public YamlConfiguration copied() {
+        return plugin.loadConfig(FILE);
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.tonythemacaroni.compound.benchmark;
+
+import java.io.File;
+import java.util.List;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.ConfigurationSection;
+
+import com.tonythemacaroni.compound.annotations.Config;
+import com.tonythemacaroni.compound.annotations.Resolve;
+
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InjectionBenchmark {
+
+    private BenchmarkPlugin plugin;
+    private ConfigurationSection config;
+    private ConfigurationSection largeConfig;
+
+    @Setup
+    public void setup() {
+        plugin = new BenchmarkPlugin(new File("build/jmh-data"));
+
+        config = new MemoryConfiguration();
+        config.set("arena.name", "&aSpawn &#ff8800Arena");
+        config.set("arena.minPlayers", 2);
+        config.set("arena.maxPlayers", 16);
+        config.set("arena.countdown", 30L);
+        config.set("arena.radius", 48.5);
+        config.set("arena.friendlyFire", false);
+        config.set("arena.rewards", Arrays.asList("diamond", "emerald", "gold_ingot"));
+        config.set("arena.scale", "1.5");
+
+        largeConfig = new MemoryConfiguration();
+        LargeSettings.fill(largeConfig.createSection("large"));
+    }
+
+    @Benchmark
+    public ArenaSettings planned() {
+        ArenaSettings settings = new ArenaSettings();
+        plugin.injectConfig(settings, config, "arena.yml", "arena");
+
+        return settings;
+    }
+
+    @Benchmark
+    public PlainArenaSettings plannedPlain() {
+        PlainArenaSettings settings = new PlainArenaSettings();
+        plugin.injectConfig(settings, config, "arena.yml", "arena");
+
+        return settings;
+    }
+
+    @Benchmark
+    public LargeSettings plannedLarge() {
+        LargeSettings settings = new LargeSettings();
+        plugin.injectConfig(settings, largeConfig, "large.yml", "large");
+
+        return settings;
+    }
+
+    @Benchmark
+    public ArenaSettings legacy() throws Exception {
+        ArenaSettings settings = new ArenaSettings();
+        LegacyInjector.inject(settings, config, "arena");
+
+        return settings;
+    }
+
+    @Benchmark
+    public LargeSettings legacyLarge() throws Exception {
+        LargeSettings settings = new LargeSettings();
+        LegacyInjector.inject(settings, largeConfig, "large");
+
+        return settings;
+    }
+
+    public static class ArenaSettings {
+
+        @Config(colorize = true)
+        private String name;
+
+        @Config
+        private int minPlayers;
+
+        @Config
+        private int maxPlayers;
+
+        @Config
+        private long countdown;
+
+        @Config
+        private double radius;
+
+        @Config
+        private boolean friendlyFire;
+
+        @Config
+        private List<String> rewards;
+
+        @Config
+        @Resolve(resolver = ParseDouble.class, from = String.class)
+        private Double scale;
+
+    }
+
+    public static class PlainArenaSettings {
+
+        @Config
+        private String name;
+
+        @Config
+        private int minPlayers;
+
+        @Config
+        private int maxPlayers;
+
+        @Config
+        private long countdown;
+
+        @Config
+        private double radius;
+
+        @Config
+        private boolean friendlyFire;
+
+        @Config
+        private List<String> rewards;
+
+    }
+
+    public static class ParseDouble implements Function<String, Double> {
+
+        @Override
+        public Double apply(String value) {
+            return Double.parseDouble(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,422 @@
+package com.tonythemacaroni.compound.benchmark;
+
+import java.util.List;
+import java.util.Arrays;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import com.tonythemacaroni.compound.annotations.Config;
+import com.tonythemacaroni.compound.annotations.Resolve;
+
+// A config-backed class with many fields of every supported kind, mirroring large settings classes.
+public class LargeSettings {
+
+    public static final int FIELDS = 120;
+
+    @Config
+    private int field0;
+
+    @Config(colorize = true)
+    private String field1;
+
+    @Config
+    private double field2;
+
+    @Config
+    private boolean field3;
+
+    @Config
+    private List<String> field4;
+
+    @Config
+    private long field5;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field6;
+
+    @Config
+    private int field7;
+
+    @Config(colorize = true)
+    private String field8;
+
+    @Config
+    private double field9;
+
+    @Config
+    private boolean field10;
+
+    @Config
+    private List<String> field11;
+
+    @Config
+    private long field12;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field13;
+
+    @Config
+    private int field14;
+
+    @Config(colorize = true)
+    private String field15;
+
+    @Config
+    private double field16;
+
+    @Config
+    private boolean field17;
+
+    @Config
+    private List<String> field18;
+
+    @Config
+    private long field19;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field20;
+
+    @Config
+    private int field21;
+
+    @Config(colorize = true)
+    private String field22;
+
+    @Config
+    private double field23;
+
+    @Config
+    private boolean field24;
+
+    @Config
+    private List<String> field25;
+
+    @Config
+    private long field26;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field27;
+
+    @Config
+    private int field28;
+
+    @Config(colorize = true)
+    private String field29;
+
+    @Config
+    private double field30;
+
+    @Config
+    private boolean field31;
+
+    @Config
+    private List<String> field32;
+
+    @Config
+    private long field33;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field34;
+
+    @Config
+    private int field35;
+
+    @Config(colorize = true)
+    private String field36;
+
+    @Config
+    private double field37;
+
+    @Config
+    private boolean field38;
+
+    @Config
+    private List<String> field39;
+
+    @Config
+    private long field40;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field41;
+
+    @Config
+    private int field42;
+
+    @Config(colorize = true)
+    private String field43;
+
+    @Config
+    private double field44;
+
+    @Config
+    private boolean field45;
+
+    @Config
+    private List<String> field46;
+
+    @Config
+    private long field47;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field48;
+
+    @Config
+    private int field49;
+
+    @Config(colorize = true)
+    private String field50;
+
+    @Config
+    private double field51;
+
+    @Config
+    private boolean field52;
+
+    @Config
+    private List<String> field53;
+
+    @Config
+    private long field54;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field55;
+
+    @Config
+    private int field56;
+
+    @Config(colorize = true)
+    private String field57;
+
+    @Config
+    private double field58;
+
+    @Config
+    private boolean field59;
+
+    @Config
+    private List<String> field60;
+
+    @Config
+    private long field61;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field62;
+
+    @Config
+    private int field63;
+
+    @Config(colorize = true)
+    private String field64;
+
+    @Config
+    private double field65;
+
+    @Config
+    private boolean field66;
+
+    @Config
+    private List<String> field67;
+
+    @Config
+    private long field68;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field69;
+
+    @Config
+    private int field70;
+
+    @Config(colorize = true)
+    private String field71;
+
+    @Config
+    private double field72;
+
+    @Config
+    private boolean field73;
+
+    @Config
+    private List<String> field74;
+
+    @Config
+    private long field75;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field76;
+
+    @Config
+    private int field77;
+
+    @Config(colorize = true)
+    private String field78;
+
+    @Config
+    private double field79;
+
+    @Config
+    private boolean field80;
+
+    @Config
+    private List<String> field81;
+
+    @Config
+    private long field82;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field83;
+
+    @Config
+    private int field84;
+
+    @Config(colorize = true)
+    private String field85;
+
+    @Config
+    private double field86;
+
+    @Config
+    private boolean field87;
+
+    @Config
+    private List<String> field88;
+
+    @Config
+    private long field89;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field90;
+
+    @Config
+    private int field91;
+
+    @Config(colorize = true)
+    private String field92;
+
+    @Config
+    private double field93;
+
+    @Config
+    private boolean field94;
+
+    @Config
+    private List<String> field95;
+
+    @Config
+    private long field96;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field97;
+
+    @Config
+    private int field98;
+
+    @Config(colorize = true)
+    private String field99;
+
+    @Config
+    private double field100;
+
+    @Config
+    private boolean field101;
+
+    @Config
+    private List<String> field102;
+
+    @Config
+    private long field103;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field104;
+
+    @Config
+    private int field105;
+
+    @Config(colorize = true)
+    private String field106;
+
+    @Config
+    private double field107;
+
+    @Config
+    private boolean field108;
+
+    @Config
+    private List<String> field109;
+
+    @Config
+    private long field110;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field111;
+
+    @Config
+    private int field112;
+
+    @Config(colorize = true)
+    private String field113;
+
+    @Config
+    private double field114;
+
+    @Config
+    private boolean field115;
+
+    @Config
+    private List<String> field116;
+
+    @Config
+    private long field117;
+
+    @Config
+    @Resolve(resolver = InjectionBenchmark.ParseDouble.class, from = String.class)
+    private Double field118;
+
+    @Config
+    private int field119;
+
+    public static void fill(ConfigurationSection section) {
+        for (int i = 0; i < FIELDS; i++) {
+            String key = "field" + i;
+
+            switch (i % 7) {
+                case 0:
+                    section.set(key, i);
+                    break;
+                case 1:
+                    section.set(key, "&aValue &#ff8800" + i);
+                    break;
+                case 2:
+                    section.set(key, i * 1.5);
+                    break;
+                case 3:
+                    section.set(key, i % 2 == 0);
+                    break;
+                case 4:
+                    section.set(key, Arrays.asList("a" + i, "b" + i, "c" + i));
+                    break;
+                case 5:
+                    section.set(key, (long) i);
+                    break;
+                default:
+                    section.set(key, Double.toString(i / 4.0));
+            }
+        }
+    }
+
+}
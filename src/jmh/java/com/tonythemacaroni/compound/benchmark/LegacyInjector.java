@@ -0,0 +1,126 @@
+package com.tonythemacaroni.compound.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import net.md_5.bungee.api.ChatColor;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import com.tonythemacaroni.compound.annotations.Config;
+import com.tonythemacaroni.compound.annotations.Resolve;
+
+// The reflective injection path used before injection plans, kept as a baseline for comparison.
+public final class LegacyInjector {
+
+    private static final Pattern COLOR_MATCHER = Pattern.compile("&([0-9a-fk-oA-FK-OrRxX]|#[0-9a-fA-F]{6})");
+
+    private LegacyInjector() {
+    }
+
+    public static boolean inject(Object object, ConfigurationSection config, String baseKey) throws Exception {
+        Class<?> objectClass = object.getClass();
+
+        while (objectClass != Object.class) {
+            for (Field field : objectClass.getDeclaredFields()) {
+                Config annotation = field.getAnnotation(Config.class);
+                if (annotation == null) continue;
+
+                String key = annotation.key().isEmpty() ? field.getName() : annotation.key();
+                if (baseKey != null) key = baseKey + "." + key;
+
+                if (!config.contains(key)) {
+                    if (annotation.required()) return false;
+                    continue;
+                }
+
+                Resolve resolve = field.getAnnotation(Resolve.class);
+                Class<?> fieldType = field.getType();
+                Object obj;
+                if (resolve != null) {
+                    Class<? extends Function<?, ?>> resolver = resolve.resolver();
+                    Method apply = resolver.getMethod("apply", resolve.from());
+                    if (!fieldType.isAssignableFrom(apply.getReturnType())) return false;
+
+                    obj = apply.invoke(resolver.newInstance(), config.get(key));
+                } else obj = config.get(key);
+
+                if (obj == null) {
+                    if (annotation.required()) return false;
+                    continue;
+                }
+
+                fieldType = primitiveToWrapper(fieldType);
+                if (Number.class.isAssignableFrom(fieldType)) obj = convertNumber(obj, fieldType);
+
+                if (obj instanceof String && annotation.colorize()) obj = colorize((String) obj);
+
+                if (!fieldType.isInstance(obj)) {
+                    if (annotation.required()) return false;
+                    continue;
+                }
+
+                field.setAccessible(true);
+                field.set(object, obj);
+            }
+
+            objectClass = objectClass.getSuperclass();
+        }
+
+        return true;
+    }
+
+    public static String colorize(String string) {
+        Matcher matcher = COLOR_MATCHER.matcher(string);
+        StringBuffer buffer = new StringBuffer();
+
+        while (matcher.find()) {
+            try {
+                String code = matcher.group(1);
+
+                if (code.length() == 1)
+                    matcher.appendReplacement(buffer, ChatColor.getByChar(code.charAt(0)).toString());
+                else
+                    matcher.appendReplacement(buffer, ChatColor.of(code).toString());
+            } catch (IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return matcher.appendTail(buffer).toString();
+    }
+
+    private static Object convertNumber(Object obj, Class<?> numberClass) {
+        if (numberClass.isInstance(obj)) return obj;
+        if (!(obj instanceof Number)) return obj;
+
+        Number number = (Number) obj;
+        if (numberClass == Integer.class) return number.intValue();
+        if (numberClass == Long.class) return number.longValue();
+        if (numberClass == Byte.class) return number.byteValue();
+        if (numberClass == Float.class) return number.floatValue();
+        if (numberClass == Double.class) return number.doubleValue();
+        if (numberClass == Short.class) return number.shortValue();
+
+        return obj;
+    }
+
+    private static Class<?> primitiveToWrapper(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        if (type == float.class) return Float.class;
+        if (type == double.class) return Double.class;
+        if (type == short.class) return Short.class;
+
+        return type;
+    }
+
+}
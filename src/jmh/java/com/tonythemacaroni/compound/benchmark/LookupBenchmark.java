@@ -0,0 +1,71 @@
+package com.tonythemacaroni.compound.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.tonythemacaroni.compound.util.ComponentHandle;
+
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LookupBenchmark {
+
+    private BenchmarkPlugin plugin;
+    private ComponentHandle<ArenaManager> handle;
+
+    @Setup
+    public void setup() {
+        plugin = new BenchmarkPlugin(new File("build/jmh-data"));
+        plugin.addComponent("arenas", ArenaManager.class);
+        plugin.addComponent("kits", KitManager.class, "arenas");
+        plugin.addComponent("stats", StatsManager.class, "arenas", "kits");
+        plugin.onEnable();
+
+        handle = plugin.getComponentHandle(ArenaManager.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        plugin.onDisable();
+    }
+
+    @Benchmark
+    public ArenaManager byName() {
+        return (ArenaManager) plugin.getComponent("arenas");
+    }
+
+    @Benchmark
+    public ArenaManager byClass() {
+        return plugin.getComponent(ArenaManager.class);
+    }
+
+    @Benchmark
+    public ArenaManager byHandle() {
+        return handle.get();
+    }
+
+    public static class ArenaManager {
+    }
+
+    public static class KitManager {
+    }
+
+    public static class StatsManager {
+    }
+
+}
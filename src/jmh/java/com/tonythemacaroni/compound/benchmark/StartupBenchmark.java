@@ -0,0 +1,75 @@
+package com.tonythemacaroni.compound.benchmark;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+// Measures dependency resolution and loading in onEnable for synthetic component graphs.
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StartupBenchmark {
+
+    private static final int MAX_DEPENDS = 3;
+
+    @Param({"10", "100", "1000"})
+    private int components;
+
+    private List<String[]> depends;
+    private BenchmarkPlugin plugin;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        depends = new ArrayList<>(components);
+
+        for (int i = 0; i < components; i++) {
+            int count = i == 0 ? 0 : random.nextInt(Math.min(i, MAX_DEPENDS) + 1);
+
+            String[] componentDepends = new String[count];
+            for (int j = 0; j < count; j++) componentDepends[j] = "component" + random.nextInt(i);
+
+            depends.add(componentDepends);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createPlugin() {
+        plugin = new BenchmarkPlugin(new File("build/jmh-data"));
+        for (int i = 0; i < components; i++) plugin.addComponent("component" + i, SyntheticComponent.class, depends.get(i));
+    }
+
+    @TearDown(Level.Invocation)
+    public void disablePlugin() {
+        plugin.onDisable();
+    }
+
+    @Benchmark
+    public BenchmarkPlugin enable() {
+        plugin.onEnable();
+        return plugin;
+    }
+
+    public static class SyntheticComponent {
+    }
+
+}
@@ -0,0 +1,320 @@
+package com.tonythemacaroni.compound;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import io.github.classgraph.FieldInfo;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import io.github.classgraph.TypeSignature;
+import io.github.classgraph.AnnotationInfo;
+import io.github.classgraph.ClassRefTypeSignature;
+import io.github.classgraph.AnnotationParameterValueList;
+
+import com.tonythemacaroni.compound.util.ComponentData;
+import com.tonythemacaroni.compound.util.ComponentIndex;
+import com.tonythemacaroni.compound.util.DependencyGraph;
+import com.tonythemacaroni.compound.util.ComponentDescriptor;
+
+// Components of every CompoundPlugin sharing this copy of Compound live in one registry and one dependency graph,
+// so they can depend on each other by "plugin:component" names.
+public final class ComponentRegistry {
+
+    public static final char NAMESPACE_SEPARATOR = ':';
+
+    private static final ComponentRegistry INSTANCE = new ComponentRegistry();
+
+    private final Map<String, CompoundPlugin> plugins = new LinkedHashMap<>();
+    private final Map<String, Map<String, ComponentData>> discovered = new HashMap<>();
+    // Plugins that already received their discovered components; they are only discovered again when re-enabled.
+    private final Set<String> taken = new HashSet<>();
+
+    private final Map<String, ComponentData> components = new LinkedHashMap<>();
+    private final Map<String, ComponentData> componentsByClass = new HashMap<>();
+    private final DependencyGraph graph = new DependencyGraph(this);
+
+    private ComponentRegistry() {
+    }
+
+    public static ComponentRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public static String qualify(String plugin, String component) {
+        return plugin + NAMESPACE_SEPARATOR + component;
+    }
+
+    public synchronized void register(CompoundPlugin plugin) {
+        CompoundPlugin previous = plugins.put(plugin.getName(), plugin);
+        if (previous != null && previous != plugin) unregister(previous.getName());
+    }
+
+    public synchronized void unregister(CompoundPlugin plugin) {
+        if (plugins.get(plugin.getName()) == plugin) unregister(plugin.getName());
+    }
+
+    private void unregister(String pluginName) {
+        plugins.remove(pluginName);
+        discovered.remove(pluginName);
+        taken.remove(pluginName);
+
+        List<ComponentData> removed = new ArrayList<>();
+        components.values().removeIf(cd -> {
+            if (!pluginName.equals(cd.getPlugin())) return false;
+
+            removed.add(cd);
+            return true;
+        });
+
+        componentsByClass.values().removeIf(cd -> pluginName.equals(cd.getPlugin()));
+        removed.forEach(graph::removeNode);
+    }
+
+    // Discovers the components of every registered plugin that has not been discovered yet in one batch: one index
+    // read per plugin jar, and a single classpath scan across the packages of all plugins without an index.
+    synchronized Map<String, ComponentData> discover(CompoundPlugin plugin) {
+        register(plugin);
+
+        if (!discovered.containsKey(plugin.getName())) {
+            List<CompoundPlugin> unindexed = new ArrayList<>();
+
+            for (CompoundPlugin pending : plugins.values()) {
+                if (pending != plugin && (discovered.containsKey(pending.getName()) || taken.contains(pending.getName())))
+                    continue;
+
+                Map<String, ComponentData> indexed = null;
+                try {
+                    indexed = readIndex(pending);
+                } catch (IOException e) {
+                    // A broken index only costs its own plugin the index, the other plugins of the batch go on.
+                    pending.getLogger().warning("Unable to read component index of plugin '" + pending.getName()
+                        + "', scanning classpath instead.");
+                    e.printStackTrace();
+                }
+
+                if (indexed != null) discovered.put(pending.getName(), indexed);
+                else unindexed.add(pending);
+            }
+
+            if (!unindexed.isEmpty()) scan(unindexed, plugin.getLogger());
+        }
+
+        taken.add(plugin.getName());
+
+        Map<String, ComponentData> result = discovered.remove(plugin.getName());
+        return result == null ? new HashMap<>() : result;
+    }
+
+    // A plugin restored from its startup snapshot skips discovery, but must still be kept out of later batches, and
+    // anything an earlier batch discovered for it is stale.
+    synchronized void markDiscovered(CompoundPlugin plugin) {
+        register(plugin);
+
+        discovered.remove(plugin.getName());
+        taken.add(plugin.getName());
+    }
+
+    public synchronized void addComponent(ComponentData componentData) {
+        components.put(qualify(componentData.getPlugin(), componentData.getName()), componentData);
+        componentsByClass.put(componentData.getClassName(), componentData);
+    }
+
+    public synchronized ComponentData getComponent(String qualifiedName) {
+        return components.get(qualifiedName);
+    }
+
+    public synchronized ComponentData getComponentByClass(String className) {
+        return componentsByClass.get(className);
+    }
+
+    public synchronized CompoundPlugin getPlugin(String name) {
+        return plugins.get(name);
+    }
+
+    public synchronized Map<String, CompoundPlugin> getPlugins() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(plugins));
+    }
+
+    // Guarded by the registry lock, like the rest of the registry.
+    public DependencyGraph getGraph() {
+        return graph;
+    }
+
+    // The load order of every registered component across all plugins.
+    public synchronized List<ComponentData> getLoadOrder() {
+        return graph.topologicalOrder();
+    }
+
+    // Loads a lazy component through its owning plugin. Returns false if it is not loaded afterwards.
+    boolean ensureLoaded(ComponentData componentData) {
+        if (componentData.isLoaded()) return true;
+        if (!componentData.isLazy() || componentData.getPlugin() == null) return false;
+
+        CompoundPlugin owner = getPlugin(componentData.getPlugin());
+        if (owner == null || !owner.isEnabled()) return false;
+
+        owner.getComponent(componentData.getName());
+        return componentData.isLoaded();
+    }
+
+    private Map<String, ComponentData> readIndex(CompoundPlugin plugin) throws IOException {
+        String packagePrefix = plugin.getClass().getPackage().getName() + ".";
+
+        try (InputStream input = plugin.getResource(ComponentIndex.LOCATION)) {
+            if (input == null) return null;
+
+            // An index from an older version is treated like none, the scan finds what it leaves out.
+            List<ComponentIndex.Entry> entries = ComponentIndex.read(input);
+            if (entries == null) return null;
+
+            Map<String, ComponentData> componentData = new HashMap<>();
+            for (ComponentIndex.Entry entry : entries) {
+                if (!entry.getClassName().startsWith(packagePrefix)) continue;
+
+                componentData.put(entry.getName(), ComponentData.fromIndexEntry(entry, plugin.getName()));
+            }
+
+            return componentData;
+        }
+    }
+
+    private void scan(List<CompoundPlugin> batch, Logger logger) {
+        Map<String, CompoundPlugin> packages = new LinkedHashMap<>();
+        Set<ClassLoader> classLoaders = new LinkedHashSet<>();
+
+        for (CompoundPlugin plugin : batch) {
+            packages.put(plugin.getClass().getPackage().getName(), plugin);
+            classLoaders.add(plugin.getClass().getClassLoader());
+
+            discovered.put(plugin.getName(), new HashMap<>());
+        }
+
+        logger.info("No component index found for " + packages.values().stream()
+            .map(CompoundPlugin::getName)
+            .collect(Collectors.joining(", ", "[", "]")) + ", scanning classpath...");
+
+        try (
+            ScanResult result = new ClassGraph()
+                .enableClassInfo()
+                .enableFieldInfo()
+                .enableAnnotationInfo()
+                .overrideClassLoaders(classLoaders.toArray(new ClassLoader[0]))
+                .acceptPackages(packages.keySet().toArray(new String[0]))
+                .scan()
+        ) {
+            result.getClassesWithAnnotation("com.tonythemacaroni.compound.annotations.Component").forEach(c -> {
+                CompoundPlugin owner = findOwner(packages, c.getName());
+                if (owner == null) return;
+
+                ComponentDescriptor descriptor = describe(c);
+                discovered.get(owner.getName()).put(descriptor.getName(), new ComponentData(descriptor,
+                    owner.getName()));
+            });
+        }
+    }
+
+    // Only strings are copied out of the scan, so none of its class info outlives the scan result.
+    static ComponentDescriptor describe(ClassInfo classInfo) {
+        AnnotationParameterValueList componentAnnotation = classInfo
+            .getAnnotationInfo()
+            .get("com.tonythemacaroni.compound.annotations.Component")
+            .getParameterValues();
+
+        String name = (String) componentAnnotation.get("name").getValue();
+        String description = (String) componentAnnotation.get("description").getValue();
+        String[] depends = (String[]) componentAnnotation.get("depends").getValue();
+
+        return new ComponentDescriptor(classInfo.getName(), name, description, depends, scanConfigPaths(classInfo),
+            scanInjects(classInfo), (Boolean) componentAnnotation.get("asyncLoad").getValue(),
+            (Boolean) componentAnnotation.get("lazy").getValue(),
+            (Boolean) componentAnnotation.get("asyncUnload").getValue(),
+            (Long) componentAnnotation.get("loadTimeout").getValue(),
+            (Long) componentAnnotation.get("unloadTimeout").getValue());
+    }
+
+    // Nested plugin packages are possible, so the longest matching package wins.
+    private static CompoundPlugin findOwner(Map<String, CompoundPlugin> packages, String className) {
+        CompoundPlugin owner = null;
+        int longest = -1;
+
+        for (Map.Entry<String, CompoundPlugin> entry : packages.entrySet()) {
+            String packageName = entry.getKey();
+
+            if (className.startsWith(packageName + ".") && packageName.length() > longest) {
+                owner = entry.getValue();
+                longest = packageName.length();
+            }
+        }
+
+        return owner;
+    }
+
+    private static String[] scanConfigPaths(ClassInfo classInfo) {
+        Set<String> paths = new LinkedHashSet<>();
+
+        List<ClassInfo> hierarchy = new ArrayList<>();
+        hierarchy.add(classInfo);
+        hierarchy.addAll(classInfo.getSuperclasses());
+
+        for (ClassInfo c : hierarchy) {
+            AnnotationInfo classConfig = c.getAnnotationInfo("com.tonythemacaroni.compound.annotations.Config");
+            if (classConfig != null) addConfigPath(paths, classConfig);
+
+            for (FieldInfo field : c.getDeclaredFieldInfo()) {
+                AnnotationInfo config = field.getAnnotationInfo("com.tonythemacaroni.compound.annotations.Config");
+                if (config != null) addConfigPath(paths, config);
+            }
+        }
+
+        return paths.toArray(new String[0]);
+    }
+
+    private static String[] scanInjects(ClassInfo classInfo) {
+        Set<String> injects = new LinkedHashSet<>();
+
+        List<ClassInfo> hierarchy = new ArrayList<>();
+        hierarchy.add(classInfo);
+        hierarchy.addAll(classInfo.getSuperclasses());
+
+        for (ClassInfo c : hierarchy) {
+            for (FieldInfo field : c.getDeclaredFieldInfo()) {
+                AnnotationInfo inject = field.getAnnotationInfo("com.tonythemacaroni.compound.annotations.Inject");
+                if (inject == null) continue;
+
+                String value = (String) inject.getParameterValues().getValue("value");
+                if (value != null && !value.isEmpty()) {
+                    injects.add(value);
+                    continue;
+                }
+
+                TypeSignature type = field.getTypeDescriptor();
+                if (!(type instanceof ClassRefTypeSignature)) continue;
+
+                String className = ((ClassRefTypeSignature) type).getBaseClassName();
+                if (className.equals(ComponentIndex.SCHEDULER_CLASS)) continue;
+
+                injects.add(ComponentIndex.CLASS_REFERENCE + className);
+            }
+        }
+
+        return injects.toArray(new String[0]);
+    }
+
+    private static void addConfigPath(Set<String> paths, AnnotationInfo config) {
+        String path = (String) config.getParameterValues().getValue("path");
+        if (!path.isEmpty()) paths.add(path);
+    }
+
+}
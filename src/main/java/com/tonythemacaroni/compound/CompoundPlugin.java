@@ -3,218 +3,1249 @@ package com.tonythemacaroni.compound;
 import java.io.File;
 import java.util.Map;
 import java.util.Set;
+import java.util.List;
+import java.util.Deque;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ArrayDeque;
+import java.util.WeakHashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import java.util.function.Function;
-import java.lang.reflect.InvocationTargetException;
-
-import org.apache.commons.lang.exception.ExceptionUtils;
-
-import com.google.common.collect.HashMultimap;
-
-import io.github.classgraph.ClassInfo;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ScanResult;
-import io.github.classgraph.ClassInfoList;
-import io.github.classgraph.AnnotationParameterValueList;
-
-import net.md_5.bungee.api.ChatColor;
+import java.util.function.Consumer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.Executors;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 
-import com.tonythemacaroni.compound.annotations.Config;
+import com.tonythemacaroni.compound.util.Watchdog;
+import com.tonythemacaroni.compound.util.Colorizer;
+import com.tonythemacaroni.compound.util.ConfigCache;
+import com.tonythemacaroni.compound.util.BatchResult;
+import com.tonythemacaroni.compound.util.ConfigWriter;
+import com.tonythemacaroni.compound.util.StartupReport;
+import com.tonythemacaroni.compound.util.ConfigWatcher;
 import com.tonythemacaroni.compound.util.ComponentData;
-import com.tonythemacaroni.compound.annotations.Resolve;
+import com.tonythemacaroni.compound.util.InjectionPlan;
+import com.tonythemacaroni.compound.util.FieldInjector;
+import com.tonythemacaroni.compound.util.ConfigBindings;
+import com.tonythemacaroni.compound.util.ComponentIndex;
+import com.tonythemacaroni.compound.util.MainThreadQueue;
+import com.tonythemacaroni.compound.util.ConfigValidator;
+import com.tonythemacaroni.compound.util.StartupSnapshot;
+import com.tonythemacaroni.compound.util.ComponentHandle;
+import com.tonythemacaroni.compound.util.DependencyGraph;
+import com.tonythemacaroni.compound.util.ValidationReport;
+import com.tonythemacaroni.compound.util.ComponentTimings;
+import com.tonythemacaroni.compound.util.ConverterRegistry;
 import com.tonythemacaroni.compound.util.LoadableComponent;
+import com.tonythemacaroni.compound.util.ComponentScheduler;
+import com.tonythemacaroni.compound.util.DependencyInjector;
 
 public class CompoundPlugin extends JavaPlugin {
 
-    private static final Pattern COLOR_MATCHER = Pattern.compile("&([0-9a-fk-oA-FK-OrRxX]|#[0-9a-fA-F]{6})");
+    private static final int DEFAULT_CONFIG_CACHE_SIZE = 64;
+    private static final int DEFAULT_IO_THREADS = 4;
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT = 30000;
+    private static final int BATCH_CHUNK_SIZE = 64;
+    private static final String STARTUP_REPORT_FILE = "startup-report.txt";
+    private static final String STARTUP_SNAPSHOT_FILE = "startup.snapshot";
+
+    // Shared by every plugin, a component of one plugin can use the lazy components of another.
+    // Batches being loaded; the thread running a batch waits for it and cannot run tasks handed to the main thread.
+    private static final AtomicInteger LOADING_BATCHES = new AtomicInteger();
+    // Lazy loads running on the current thread, each holding the lock of the component being loaded.
+    private static final ThreadLocal<Integer> LAZY_LOAD_DEPTH = ThreadLocal.withInitial(() -> 0);
 
     protected Map<String, ComponentData> components;
+    protected Map<String, ComponentData> componentsByClass;
+    // Components in the order they actually finished loading.
+    protected List<ComponentData> loadOrder;
+    protected DependencyGraph graph;
+    // Created on first use, so configs can be loaded before the plugin is enabled and after it is disabled.
+    protected volatile ConfigCache configCache;
+    protected ConfigBindings configBindings;
+    protected ConfigWatcher configWatcher;
+    protected ExecutorService ioExecutor;
+    protected ExecutorService computeExecutor;
+    protected MainThreadQueue mainThreadQueue;
+    protected ConfigWriter configWriter;
+    protected Watchdog watchdog;
     protected Logger logger;
 
+    private final Map<String, ComponentHandle<?>> handles = new ConcurrentHashMap<>();
+    private final Colorizer colorizer = new Colorizer();
+    private final ConverterRegistry converters = new ConverterRegistry();
+    private final Object configCacheLock = new Object();
+    // Threads of this plugin's own pools. The watchdog only interrupts these, never the main thread or a caller's.
+    private final Set<Thread> poolThreads = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    public CompoundPlugin() {
+        super();
+    }
+
+    protected CompoundPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+
+    @Override
+    public void onLoad() {
+        // Registering before any plugin enables lets the first one discover the components of all of them at once.
+        ComponentRegistry.getInstance().register(this);
+    }
+
     @Override
     public void onEnable() {
+        long enableStart = System.nanoTime();
+
+        ComponentRegistry.getInstance().register(this);
+
         logger = getLogger();
-        components = new HashMap<>();
+        components = new ConcurrentHashMap<>();
+        componentsByClass = new ConcurrentHashMap<>();
+        loadOrder = Collections.synchronizedList(new ArrayList<>());
+        configBindings = new ConfigBindings();
+        ioExecutor = createIoExecutor();
+        computeExecutor = createComputeExecutor();
+        mainThreadQueue = new MainThreadQueue(this);
+        configWriter = new ConfigWriter(getConfigCache(), ioExecutor, logger);
+        watchdog = new Watchdog(getName() + "-Watchdog");
 
         logger.info("Loading components...");
-        try (
-            ScanResult result = new ClassGraph()
-                .enableClassInfo()
-                .enableAnnotationInfo()
-                .acceptPackages(getClass().getPackage().getName())
-                .scan()
-        ) {
-            ClassInfoList componentList = result.getClassesWithAnnotation("com.tonythemacaroni.compound.annotations.Component");
-
-            if (componentList.isEmpty()) {
+        try {
+            StartupSnapshot snapshot = readStartupSnapshot();
+            Map<String, ComponentData> componentData = snapshot != null
+                ? snapshotComponents(snapshot)
+                : discoverComponents();
+
+            if (componentData.isEmpty()) {
                 logger.info("No components found.");
                 return;
             }
 
-            Map<String, ComponentData> componentData = new HashMap<>();
-            componentList.forEach(c -> {
-                AnnotationParameterValueList componentAnnotation = c
-                    .getAnnotationInfo()
-                    .get("com.tonythemacaroni.compound.annotations.Component")
-                    .getParameterValues();
-
-                String name = (String) componentAnnotation.get("name").getValue();
-                String description = (String) componentAnnotation.get("description").getValue();
-                String[] depends = (String[]) componentAnnotation.get("depends").getValue();
-                componentData.put(name, new ComponentData(c, name, description, depends));
-            });
-
             logger.info("Found components: [" + String.join(", ", componentData.keySet()) + "]");
+            componentData.values().forEach(this::registerComponent);
 
-            HashMultimap<ComponentData, ComponentData> dependencies = HashMultimap.create();
-            Set<ComponentData> loadedComponents = new HashSet<>();
+            graph = ComponentRegistry.getInstance().getGraph();
             Set<ComponentData> failedComponents = new HashSet<>();
+            Set<ComponentData> ownComponents = new LinkedHashSet<>(componentData.values());
 
             componentData.values().forEach(component -> {
+                graph.addNode(component);
+
                 for (String dependName : component.getDepends()) {
-                    ComponentData depend = componentData.get(dependName);
+                    ComponentData depend = resolveReference(dependName);
                     if (depend == null) {
-                        dependencies.removeAll(component);
                         failedComponents.add(component);
+                        component.setFailed(true);
 
                         logger.severe("Component '" + component.getName() + "' has a missing dependency '"
-                            + dependName + "'.");
+                            + dependName + "'." + missingPluginHint(dependName));
 
-                        return;
+                        continue;
                     }
 
-                    dependencies.put(component, componentData.get(dependName));
+                    graph.addDependency(component, depend);
                 }
-            });
 
-            boolean changed;
-            while (loadedComponents.size() + failedComponents.size() < componentData.size()) {
-                changed = false;
+                for (String reference : component.getInjects()) {
+                    ComponentData depend = resolveReference(reference);
+                    if (depend == null) {
+                        failedComponents.add(component);
+                        component.setFailed(true);
 
-                outer:
-                for (ComponentData cd : componentData.values()) {
-                    if (!cd.isLoaded() && !failedComponents.contains(cd)) {
-                        Set<ComponentData> depends = dependencies.get(cd);
+                        logger.severe("Component '" + component.getName() + "' has a missing injected dependency '"
+                            + reference + "'." + missingPluginHint(reference));
 
-                        for (ComponentData depend : depends) {
-                            if (failedComponents.contains(depend)) {
-                                logger.severe("Component '" + cd.getName() + "' failed to load because component '"
-                                    + depend.getName() + "' failed to load.");
-                                failedComponents.add(cd);
-                                cd.setLoaded(false);
+                        continue;
+                    }
 
-                                continue outer;
-                            }
+                    if (!depend.equals(component)) graph.addDependency(component, depend);
+                }
+            });
 
-                            if (!depend.isLoaded()) continue outer;
-                        }
+            List<ComponentData> order = snapshot != null ? snapshotOrder(snapshot, componentData) : null;
+            if (order == null) order = graph.topologicalOrder(ownComponents);
 
-                        changed = true;
-                        boolean loaded = loadComponent(cd);
-                        if (loaded) {
-                            logger.info("Component '" + cd.getName() + "' has loaded.");
-                            loadedComponents.add(cd);
+            if (order.size() < ownComponents.size()) {
+                Set<ComponentData> cyclic = new LinkedHashSet<>(ownComponents);
+                order.forEach(cyclic::remove);
 
-                            dependencies.values().remove(cd);
-                        } else {
-                            logger.severe("Component '" + cd.getName() + "' failed to load.");
-                            failedComponents.add(cd);
-                        }
-                    }
-                }
+                logger.severe("Component loading deadlocked. Components that failed to load: "
+                    + cyclic.stream()
+                    .map(ComponentData::getName)
+                    .collect(Collectors.joining(", ", "[", "]"))
+                );
 
-                if (!changed) {
-                    logger.severe("Component loading deadlocked. Components that failed to load: "
-                        + componentData.values().stream()
-                        .filter(ComponentData::isLoaded)
+                List<ComponentData> cycle = graph.findCycle();
+                if (!cycle.isEmpty()) {
+                    logger.severe("Dependency cycle: " + cycle.stream()
                         .map(ComponentData::getName)
-                        .collect(Collectors.joining(", ", "[", "]"))
-                    );
+                        .collect(Collectors.joining(" -> ")));
+                }
+
+                cyclic.forEach(cd -> {
+                    cd.addFailReason("Component '" + cd.getName() + "' is part of or depends on a dependency cycle.");
+                    cd.setFailed(true);
+                });
+                failedComponents.addAll(cyclic);
+            }
+
+            List<ComponentData> resolvedOrder = new ArrayList<>(order);
+
+            Set<ComponentData> eager = new HashSet<>();
+            order.stream().filter(cd -> !cd.isLazy()).forEach(cd -> addWithDependencies(cd, eager));
+
+            List<ComponentData> lazy = order.stream().filter(cd -> !eager.contains(cd)).collect(Collectors.toList());
+            if (!lazy.isEmpty()) {
+                logger.info("Lazy components: " + lazy.stream()
+                    .map(ComponentData::getName)
+                    .collect(Collectors.joining(", ", "[", "]")));
+
+                order.removeIf(cd -> !eager.contains(cd));
+            }
+
+            // Dependencies on other plugins' components are outside the order, so they have to be loaded already.
+            for (ComponentData cd : order) {
+                for (ComponentData depend : graph.getDependencies(cd)) {
+                    if (ownComponents.contains(depend) || ensureLoaded(depend)) continue;
+
+                    String msg = "Component '" + cd.getName() + "' depends on component '" + depend.getName()
+                        + "' of plugin '" + depend.getPlugin() + "', which is not loaded.";
+
+                    logger.severe(msg);
+                    cd.addFailReason(msg);
+                    cd.setFailed(true);
+                    failedComponents.add(cd);
+
+                    break;
                 }
             }
+
+            int restored = snapshot != null ? restoreConfigs(snapshot) : 0;
+            preloadConfigs(order);
+            loadComponents(order, failedComponents);
+
+            if (shouldWriteDefaults()) writeComponentDefaults();
+
+            boolean snapshotCurrent = snapshot != null && restored == snapshot.getConfigs().size();
+            if (shouldUseStartupSnapshot() && !snapshotCurrent
+                && componentData.values().stream().noneMatch(ComponentData::isFailed))
+                writeStartupSnapshot(resolvedOrder);
+
+            if (shouldWriteStartupReport())
+                writeStartupReport(new StartupReport(getName(), System.nanoTime() - enableStart, graph, ownComponents,
+                    order));
         } catch (Exception e) {
             logger.severe("Unexpected error when loading up.");
             e.printStackTrace();
         }
+
+        if (shouldWatchConfigs()) startConfigWatcher();
     }
 
-    @Override
-    public void onDisable() {
-        components.forEach((name, componentData) -> {
-            if (!componentData.isLoaded()) return;
+    private void preloadConfigs(List<ComponentData> order) {
+        Set<String> paths = new LinkedHashSet<>();
+        order.forEach(cd -> paths.addAll(Arrays.asList(cd.getConfigPaths())));
+        if (paths.isEmpty()) return;
+
+        try {
+            getConfigCache().preload(paths, ioExecutor).join();
+        } catch (CompletionException e) {
+            logger.warning("Unable to preload config files, they will be loaded on demand.");
+            e.printStackTrace();
+        }
+    }
+
+    private StartupSnapshot readStartupSnapshot() {
+        if (!shouldUseStartupSnapshot()) return null;
+
+        File jar = getFile();
+        if (jar == null || !jar.isFile()) return null;
+
+        Path file = new File(getDataFolder(), STARTUP_SNAPSHOT_FILE).toPath();
+        if (!Files.isRegularFile(file)) return null;
+
+        try {
+            StartupSnapshot snapshot = StartupSnapshot.read(file);
+            if (snapshot == null || !snapshot.matches(jar.length(), jar.lastModified(), getDescription().getVersion()))
+                return null;
+
+            logger.info("Using startup snapshot.");
+            return snapshot;
+        } catch (IOException e) {
+            logger.warning("Unable to read startup snapshot '" + file + "', it will be rebuilt.");
+            e.printStackTrace();
+
+            return null;
+        }
+    }
+
+    private Map<String, ComponentData> snapshotComponents(StartupSnapshot snapshot) {
+        ComponentRegistry.getInstance().markDiscovered(this);
+
+        Map<String, ComponentData> componentData = new LinkedHashMap<>();
+        snapshot.getEntries().forEach(entry -> componentData.put(entry.getName(),
+            ComponentData.fromIndexEntry(entry, getName())));
+
+        return componentData;
+    }
+
+    // Returns null if the stored order does not cover exactly the current components.
+    private List<ComponentData> snapshotOrder(StartupSnapshot snapshot, Map<String, ComponentData> componentData) {
+        if (snapshot.getOrder().size() != componentData.size()) return null;
+
+        List<ComponentData> order = new ArrayList<>(componentData.size());
+        for (String name : snapshot.getOrder()) {
+            ComponentData component = componentData.get(name);
+            if (component == null) return null;
+
+            order.add(component);
+        }
+
+        return order;
+    }
+
+    private int restoreConfigs(StartupSnapshot snapshot) {
+        int restored = 0;
+
+        for (Map.Entry<String, StartupSnapshot.ConfigState> entry : snapshot.getConfigs().entrySet()) {
+            StartupSnapshot.ConfigState state = entry.getValue();
+
+            if (getConfigCache().restore(entry.getKey(), () -> StartupSnapshot.restore(state.getValues()),
+                state.getModified(), state.getSize())) restored++;
+        }
+
+        return restored;
+    }
+
+    private void writeStartupSnapshot(List<ComponentData> order) {
+        File jar = getFile();
+        if (jar == null || !jar.isFile()) return;
+
+        long jarSize = jar.length();
+        long jarModified = jar.lastModified();
+        String version = getDescription().getVersion();
+        File file = new File(getDataFolder(), STARTUP_SNAPSHOT_FILE);
+
+        ioExecutor.execute(() -> {
+            List<ComponentIndex.Entry> entries = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            Map<String, StartupSnapshot.ConfigState> configs = new LinkedHashMap<>();
+
+            for (ComponentData component : order) {
+                entries.add(component.toIndexEntry());
+                names.add(component.getName());
+
+                for (String path : component.getConfigPaths()) {
+                    String key = getConfigCache().normalize(path);
+                    if (configs.containsKey(key)) continue;
+
+                    ConfigCache.Entry cached = getConfigCache().getEntry(key);
+                    if (cached == null) continue;
+
+                    Map<String, Object> values = StartupSnapshot.flatten(cached.getConfig());
+                    if (values != null) configs.put(key, new StartupSnapshot.ConfigState(cached.getModified(),
+                        cached.getSize(), values));
+                }
+            }
+
+            try {
+                new StartupSnapshot(jarSize, jarModified, version, entries, names, configs).write(file.toPath());
+            } catch (IOException e) {
+                logger.warning("Unable to write startup snapshot to '" + file.getPath() + "'.");
+                e.printStackTrace();
+            }
+        });
+    }
+
+    protected boolean shouldUseStartupSnapshot() {
+        return true;
+    }
+
+    private void writeStartupReport(StartupReport report) {
+        String text = report.render();
+        File file = new File(getDataFolder(), STARTUP_REPORT_FILE);
+
+        ioExecutor.execute(() -> {
+            try {
+                Files.createDirectories(file.getParentFile().toPath());
+                Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                logger.warning("Unable to write startup report to '" + file.getPath() + "'.");
+                e.printStackTrace();
+            }
+        });
+    }
+
+    protected boolean shouldWriteStartupReport() {
+        return false;
+    }
+
+    private void startConfigWatcher() {
+        Path root = getDataFolder().toPath().toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) return;
 
+        ConfigWriter writer = configWriter;
+        configWatcher = new ConfigWatcher(root, logger, paths -> {
+            // Files saved by this plugin hold the values its components already have, reloading them would only
+            // re-inject those components and fire their onConfigReload.
+            paths.removeIf(writer::isOwnWrite);
+
+            if (!paths.isEmpty() && isEnabled())
+                getServer().getScheduler().runTask(this, () -> reloadComponentConfigs(paths));
+        });
+
+        try {
+            configWatcher.start(getName() + "-ConfigWatcher");
+        } catch (IOException e) {
+            logger.warning("Unable to watch config files for changes.");
+            e.printStackTrace();
+
+            configWatcher.close();
+            configWatcher = null;
+        }
+    }
+
+    public boolean reloadComponentConfigs() {
+        return reloadComponentConfigs(configBindings.getPaths());
+    }
+
+    public boolean reloadComponentConfigs(Collection<String> paths) {
+        Map<ComponentData, Set<FieldInjector>> affectedFields = new LinkedHashMap<>();
+        Map<ComponentData, Set<String>> affectedPaths = new LinkedHashMap<>();
+
+        for (String path : paths) {
+            String normalized = getConfigCache().normalize(path);
+            getConfigCache().invalidate(normalized);
+
+            configBindings.getBindings(normalized).forEach((componentData, fields) -> {
+                affectedFields.computeIfAbsent(componentData, cd -> new HashSet<>()).addAll(fields);
+                affectedPaths.computeIfAbsent(componentData, cd -> new LinkedHashSet<>()).add(normalized);
+            });
+        }
+
+        boolean reloaded = true;
+        for (Map.Entry<ComponentData, Set<FieldInjector>> entry : affectedFields.entrySet()) {
+            ComponentData componentData = entry.getKey();
+            if (!componentData.isLoaded()) continue;
+
+            String name = componentData.getName();
             Object component = componentData.getComponent();
 
-            if (component instanceof LoadableComponent) {
-                logger.info("Unloading component '" + name + "'...");
+            if (!injectConfig(component, componentData, null, null, null, entry.getValue(), componentData::addFailReason)) {
+                logger.severe("Unable to reload config for component '" + name + "'.");
+                reloaded = false;
+
+                continue;
+            }
 
+            if (component instanceof LoadableComponent) {
                 try {
-                    ((LoadableComponent) component).unload();
+                    ((LoadableComponent) component).onConfigReload(affectedPaths.get(componentData));
                 } catch (Exception e) {
-                    logger.severe("Error when unloading component '" + name + "'.");
+                    logger.severe("Error when reloading config for component '" + name + "'.");
                     e.printStackTrace();
 
-                    componentData.setFailException(ExceptionUtils.getStackTrace(e));
+                    reloaded = false;
+                    continue;
                 }
             }
-        });
+
+            logger.info("Reloaded config for component '" + name + "'.");
+        }
+
+        return reloaded;
+    }
+
+    protected boolean shouldWatchConfigs() {
+        return true;
+    }
+
+    // Whether to add the keys missing from config files with the values components have after loading.
+    protected boolean shouldWriteDefaults() {
+        return false;
+    }
+
+    private void addWithDependencies(ComponentData component, Set<ComponentData> components) {
+        if (!components.add(component)) return;
+
+        for (ComponentData depend : graph.getDependencies(component)) addWithDependencies(depend, components);
+    }
+
+    private void loadComponents(List<ComponentData> order, Set<ComponentData> failedComponents) throws InterruptedException {
+        Map<ComponentData, Integer> inDegree = new HashMap<>();
+        Deque<ComponentData> ready = new ArrayDeque<>();
+        BlockingQueue<ComponentData> completed = new LinkedBlockingQueue<>();
+        Set<ComponentData> included = new HashSet<>(order);
+
+        for (ComponentData cd : order) {
+            if (failedComponents.contains(cd)) {
+                failDependents(cd, included, failedComponents);
+                continue;
+            }
+
+            // Dependencies outside of the order are already loaded.
+            int degree = 0;
+            for (ComponentData depend : graph.getDependencies(cd))
+                if (included.contains(depend)) degree++;
+
+            if (degree == 0) ready.add(cd);
+            else inDegree.put(cd, degree);
+        }
+
+        ExecutorService executor = null;
+        Set<ComponentData> finished = new HashSet<>();
+        int running = 0;
+
+        LOADING_BATCHES.incrementAndGet();
+        try {
+            while (true) {
+                while (!ready.isEmpty()) {
+                    ComponentData cd = ready.poll();
+                    if (failedComponents.contains(cd)) continue;
+
+                    if (cd.isAsyncLoad()) {
+                        if (executor == null) executor = createLoadExecutor();
+
+                        running++;
+                        executor.execute(() -> {
+                            try {
+                                loadComponent(cd, () -> completed.add(cd));
+                            } finally {
+                                completed.add(cd);
+                            }
+                        });
+
+                        continue;
+                    }
+
+                    loadComponent(cd);
+                    completeComponent(cd, included, inDegree, ready, failedComponents);
+                }
+
+                if (running == 0) break;
+
+                // A component that overran its budget is completed by the watchdog and again once load() returns.
+                ComponentData cd = completed.take();
+                if (!finished.add(cd)) continue;
+
+                running--;
+
+                completeComponent(cd, included, inDegree, ready, failedComponents);
+            }
+        } finally {
+            LOADING_BATCHES.decrementAndGet();
+            if (executor != null) executor.shutdown();
+        }
+    }
+
+    private void completeComponent(ComponentData cd, Set<ComponentData> batch, Map<ComponentData, Integer> inDegree,
+                                   Deque<ComponentData> ready, Set<ComponentData> failedComponents) {
+        if (!cd.isLoaded()) {
+            logger.severe("Component '" + cd.getName() + "' failed to load.");
+
+            failedComponents.add(cd);
+            cd.setFailed(true);
+            failDependents(cd, batch, failedComponents);
+
+            return;
+        }
+
+        logger.info("Component '" + cd.getName() + "' has loaded.");
+
+        for (ComponentData dependent : graph.getDependents(cd)) {
+            if (!batch.contains(dependent) || failedComponents.contains(dependent)) continue;
+
+            if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                inDegree.remove(dependent);
+                ready.add(dependent);
+            }
+        }
+    }
+
+    // Only components of the batch are failed. The graph is shared, so dependents outside of it may be loaded
+    // components of other plugins, which keep running and are only reported.
+    private void failDependents(ComponentData failed, Set<ComponentData> batch, Set<ComponentData> failedComponents) {
+        for (ComponentData dependent : graph.getDependents(failed)) {
+            if (!batch.contains(dependent)) {
+                if (dependent.isLoaded())
+                    logger.warning("Component '" + ComponentRegistry.qualify(dependent.getPlugin(), dependent.getName())
+                        + "' depends on component '" + failed.getName() + "', which failed to load.");
+
+                continue;
+            }
+
+            if (!failedComponents.add(dependent)) continue;
+
+            logger.severe("Component '" + dependent.getName() + "' failed to load because component '"
+                + failed.getName() + "' failed to load.");
+            dependent.setLoaded(false);
+            dependent.setFailed(true);
+
+            failDependents(dependent, batch, failedComponents);
+        }
+    }
+
+    protected ExecutorService createLoadExecutor() {
+        return createForkJoinPool("Loader", false);
+    }
+
+    // One worker per core but the main thread's, named after the plugin and running with its class loader. asyncMode
+    // runs tasks that are never joined in submission order.
+    protected ExecutorService createForkJoinPool(String name, boolean asyncMode) {
+        ClassLoader classLoader = getClassLoader();
+
+        return new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(getName() + "-" + name + "-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            poolThreads.add(thread);
+
+            return thread;
+        }, null, asyncMode);
+    }
+
+    protected Map<String, ComponentData> discoverComponents() throws IOException {
+        return ComponentRegistry.getInstance().discover(this);
+    }
+
+    private String missingPluginHint(String reference) {
+        if (reference.startsWith(ComponentIndex.CLASS_REFERENCE)) return "";
+
+        int separator = reference.indexOf(ComponentRegistry.NAMESPACE_SEPARATOR);
+        if (separator < 0) return "";
+
+        String name = reference.substring(0, separator);
+        CompoundPlugin plugin = ComponentRegistry.getInstance().getPlugin(name);
+
+        if (plugin == null) return " Plugin '" + name + "' is not installed.";
+        if (!plugin.isEnabled())
+            return " Plugin '" + name + "' must be listed under depend in plugin.yml so that it is enabled first.";
+
+        return "";
+    }
+
+    @Override
+    public void onDisable() {
+        if (configWatcher != null) {
+            configWatcher.close();
+            configWatcher = null;
+        }
+
+        List<ComponentData> loaded = getLoadOrder();
+        loaded.removeIf(cd -> !cd.isLoaded());
+        Collections.reverse(loaded);
+
+        try {
+            unloadComponents(loaded);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.severe("Interrupted while unloading components.");
+        }
+
+        // Components skipped by the shutdown timeout still lose their tasks.
+        components.values().forEach(this::cancelScheduler);
+
+        handles.values().forEach(ComponentHandle::unbind);
+        ComponentRegistry.getInstance().unregister(this);
+
+        watchdog.close();
+
+        getConfigCache().invalidateAll();
+        colorizer.clear();
+        converters.clearResolvers();
+        configWriter.flush();
+        ioExecutor.shutdown();
+        computeExecutor.shutdown();
 
         components = null;
+        componentsByClass = null;
+        loadOrder = null;
+        configCache = null;
+        configBindings = null;
+        ioExecutor = null;
+        computeExecutor = null;
+        mainThreadQueue = null;
+        configWriter = null;
+        watchdog = null;
+        graph = null;
         logger = null;
     }
 
+    // Unloads each component only after its dependents in the batch have unloaded. Components marked asyncUnload
+    // unload on the executor, so independent branches unload at the same time; the rest stay on the calling thread,
+    // since an asyncLoad component may still need the main thread to unload. Whatever has not unloaded by the
+    // shutdown timeout is skipped.
+    private void unloadComponents(List<ComponentData> batch) throws InterruptedException {
+        long timeout = getShutdownTimeout();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+
+        Set<ComponentData> remaining = new LinkedHashSet<>(batch);
+        Map<ComponentData, Integer> outDegree = new HashMap<>();
+        Deque<ComponentData> ready = new ArrayDeque<>();
+        BlockingQueue<ComponentData> completed = new LinkedBlockingQueue<>();
+        List<ComponentData> unloaded = new ArrayList<>();
+
+        for (ComponentData cd : batch) {
+            int degree = 0;
+            for (ComponentData dependent : graph.getDependents(cd))
+                if (remaining.contains(dependent)) degree++;
+
+            if (degree == 0) ready.add(cd);
+            else outDegree.put(cd, degree);
+        }
+
+        ExecutorService executor = null;
+        int running = 0;
+
+        try {
+            while (true) {
+                while (!ready.isEmpty() && System.nanoTime() < deadline) {
+                    ComponentData cd = ready.poll();
+
+                    if (cd.isAsyncUnload()) {
+                        if (executor == null) executor = createLoadExecutor();
+
+                        running++;
+                        executor.execute(() -> {
+                            try {
+                                unloadComponent(cd);
+                            } finally {
+                                completed.add(cd);
+                            }
+                        });
+
+                        continue;
+                    }
+
+                    unloadComponent(cd);
+                    completeUnload(cd, outDegree, ready, remaining, unloaded);
+                }
+
+                if (remaining.isEmpty()) break;
+
+                long wait = deadline - System.nanoTime();
+                ComponentData cd = running > 0 && wait > 0 ? completed.poll(wait, TimeUnit.NANOSECONDS) : null;
+                if (cd == null) {
+                    logger.severe("Components did not unload within " + timeout + " ms, skipping: " + remaining.stream()
+                        .map(ComponentData::getName)
+                        .collect(Collectors.joining(", ", "[", "]")));
+
+                    break;
+                }
+
+                running--;
+                completeUnload(cd, outDegree, ready, remaining, unloaded);
+            }
+        } finally {
+            // Only tasks stuck past the deadline are still running here.
+            if (executor != null) executor.shutdownNow();
+        }
+
+        if (!unloaded.isEmpty())
+            logger.info("Unloaded " + unloaded.size() + " component(s) in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms: " + unloaded.stream()
+                .map(cd -> cd.getName() + " " + TimeUnit.NANOSECONDS.toMillis(cd.getTimings().getUnloadNanos()) + " ms")
+                .collect(Collectors.joining(", ", "[", "]")));
+    }
+
+    private void completeUnload(ComponentData cd, Map<ComponentData, Integer> outDegree, Deque<ComponentData> ready,
+                                Set<ComponentData> remaining, List<ComponentData> unloaded) {
+        remaining.remove(cd);
+        unloaded.add(cd);
+
+        for (ComponentData depend : graph.getDependencies(cd)) {
+            if (!remaining.contains(depend)) continue;
+
+            if (outDegree.merge(depend, -1, Integer::sum) == 0) {
+                outDegree.remove(depend);
+                ready.add(depend);
+            }
+        }
+    }
+
+    protected long getShutdownTimeout() {
+        return DEFAULT_SHUTDOWN_TIMEOUT;
+    }
+
+    public List<ComponentData> getLoadOrder() {
+        synchronized (loadOrder) {
+            return new ArrayList<>(loadOrder);
+        }
+    }
+
+    private void unloadComponent(ComponentData componentData) {
+        String name = componentData.getName();
+        Object component = componentData.getComponent();
+
+        if (component instanceof LoadableComponent) {
+            logger.info("Unloading component '" + name + "'...");
+
+            long timeout = getUnloadTimeout(componentData);
+            Watchdog.Watch watch = watch(componentData, "unload", timeout, null);
+
+            long start = System.nanoTime();
+            Exception failure = null;
+            try {
+                ((LoadableComponent) component).unload();
+            } catch (Exception e) {
+                failure = e;
+            }
+            componentData.getTimings().setUnloadNanos(System.nanoTime() - start);
+
+            if (watch != null && !watch.finish())
+                logger.severe("Component '" + name + "' did not unload within " + timeout + " ms.");
+            else if (failure != null) {
+                logger.severe("Error when unloading component '" + name + "'.");
+                failure.printStackTrace();
+
+                componentData.setFailure(failure);
+            }
+        }
+
+        cancelScheduler(componentData);
+    }
+
+    private void cancelScheduler(ComponentData componentData) {
+        ComponentScheduler scheduler = componentData.getScheduler();
+        if (scheduler == null) return;
+
+        scheduler.cancel();
+        componentData.setScheduler(null);
+    }
+
+    private Watchdog.Watch watch(ComponentData componentData, String phase, long timeout, Runnable onTimeout) {
+        Watchdog watchdog = this.watchdog;
+        if (timeout <= 0 || watchdog == null) return null;
+
+        return watchdog.watch(componentData, phase, timeout, poolThreads.contains(Thread.currentThread()), onTimeout);
+    }
+
+    private long getLoadTimeout(ComponentData componentData) {
+        return componentData.getLoadTimeout() > 0 ? componentData.getLoadTimeout() : getDefaultLoadTimeout();
+    }
+
+    private long getUnloadTimeout(ComponentData componentData) {
+        return componentData.getUnloadTimeout() > 0 ? componentData.getUnloadTimeout() : getDefaultUnloadTimeout();
+    }
+
+    // Budget in milliseconds for components that do not declare a load timeout, 0 for no limit.
+    protected long getDefaultLoadTimeout() {
+        return 0;
+    }
+
+    protected long getDefaultUnloadTimeout() {
+        return 0;
+    }
+
+    // Unloads the component and its dependents in reverse dependency order, then loads them again in dependency
+    // order. Dependents that were not loaded before, such as unused lazy components, are only reset.
+    public synchronized boolean restartComponent(String name) {
+        ComponentData target = components.get(name);
+        if (target == null) throw new IllegalArgumentException("No component named '" + name + "'.");
+
+        Set<ComponentData> affected = graph.getTransitiveDependents(target);
+
+        // Components of other plugins keep their references; only this plugin's components are restarted.
+        List<String> external = new ArrayList<>();
+        affected.removeIf(cd -> {
+            if (components.get(cd.getName()) == cd) return false;
+
+            if (cd.isLoaded()) external.add(ComponentRegistry.qualify(cd.getPlugin(), cd.getName()));
+            return true;
+        });
+
+        if (!external.isEmpty())
+            logger.warning("Components of other plugins depend on '" + name + "' and are not restarted: " + external);
+
+        List<ComponentData> order = graph.topologicalOrder(affected);
+
+        Set<ComponentData> reload = new HashSet<>();
+        addWithDependencies(target, reload);
+        affected.stream().filter(cd -> cd.isLoaded() || !cd.isLazy()).forEach(cd -> addWithDependencies(cd, reload));
+        reload.retainAll(affected);
+
+        logger.info("Restarting component '" + name + "' with dependents: " + order.stream()
+            .filter(cd -> cd != target && reload.contains(cd))
+            .map(ComponentData::getName)
+            .collect(Collectors.joining(", ", "[", "]")));
+
+        List<ComponentData> loaded = order.stream().filter(ComponentData::isLoaded).collect(Collectors.toList());
+        Collections.reverse(loaded);
+
+        try {
+            unloadComponents(loaded);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            logger.severe("Interrupted while restarting component '" + name + "'.");
+            return false;
+        }
+
+        for (ComponentData cd : order) {
+            loadOrder.remove(cd);
+
+            ComponentHandle<?> handle = handles.get(cd.getClassName());
+            if (handle != null) handle.unbind();
+
+            configBindings.unbind(cd);
+
+            cd.setLoaded(false);
+            cd.setFailed(false);
+            cd.setComponent(null);
+            cd.setFailure(null);
+            cd.clearFailReasons();
+        }
+
+        List<ComponentData> reloadOrder = order.stream().filter(reload::contains).collect(Collectors.toList());
+        Set<ComponentData> failedComponents = new HashSet<>();
+
+        for (ComponentData cd : reloadOrder) {
+            for (ComponentData depend : graph.getDependencies(cd)) {
+                if (reload.contains(depend) || ensureLoaded(depend))
+                    continue;
+
+                String msg = "Component '" + cd.getName() + "' failed to load because component '" + depend.getName()
+                    + "' failed to load.";
+
+                logger.severe(msg);
+                cd.addFailReason(msg);
+                cd.setFailed(true);
+                failedComponents.add(cd);
+
+                break;
+            }
+        }
+
+        try {
+            preloadConfigs(reloadOrder);
+            loadComponents(reloadOrder, failedComponents);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            logger.severe("Interrupted while restarting component '" + name + "'.");
+            return false;
+        }
+
+        return target.isLoaded();
+    }
+
     public Object getComponent(String component) {
-        return components.get(component).getComponent();
+        ComponentData componentData = components.get(component);
+
+        if (componentData.isLazy() && !componentData.isLoaded()) loadLazyComponent(componentData);
+        return componentData.getComponent();
+    }
+
+    // A component's lock is only held while it loads itself. Its declared dependencies are loaded before taking it,
+    // and nothing waits for the main thread while holding it.
+    private boolean loadLazyComponent(ComponentData componentData) {
+        if (componentData.isLoaded()) return true;
+
+        // Components that did not opt into asyncLoad may call Bukkit API in load(), so they load on the main thread
+        // even when first used from another one.
+        if (!componentData.isAsyncLoad() && !getServer().isPrimaryThread()) return loadOnMainThread(componentData);
+
+        ComponentData failedDepend = null;
+        for (ComponentData depend : graph.getDependencies(componentData)) {
+            if (ensureLoaded(depend)) continue;
+
+            failedDepend = depend;
+            break;
+        }
+
+        synchronized (componentData) {
+            if (componentData.isLoaded()) return true;
+            if (componentData.isFailed()) return false;
+
+            String name = componentData.getName();
+            if (failedDepend != null) {
+                String msg = "Component '" + name + "' failed to load because component '" + failedDepend.getName()
+                    + "' failed to load.";
+
+                logger.severe(msg);
+                componentData.addFailReason(msg);
+                componentData.setFailed(true);
+
+                return false;
+            }
+
+            logger.info("Loading lazy component '" + name + "'...");
+
+            int depth = LAZY_LOAD_DEPTH.get();
+            LAZY_LOAD_DEPTH.set(depth + 1);
+
+            boolean loaded;
+            try {
+                loaded = loadComponent(componentData);
+            } finally {
+                LAZY_LOAD_DEPTH.set(depth);
+            }
+
+            if (!loaded) {
+                logger.severe("Component '" + name + "' failed to load.");
+                componentData.setFailed(true);
+
+                return false;
+            }
+
+            logger.info("Component '" + name + "' has loaded.");
+            return true;
+        }
+    }
+
+    private boolean loadOnMainThread(ComponentData componentData) {
+        String name = componentData.getName();
+
+        // While a batch is loading the main thread only waits for it, and it may be waiting for a component lock held
+        // by this thread, so it would never get to the load.
+        if (LOADING_BATCHES.get() > 0 || LAZY_LOAD_DEPTH.get() > 0)
+            throw new IllegalStateException("Lazy component '" + name + "' has to load on the main thread, but thread '"
+                + Thread.currentThread().getName() + "' cannot wait for it while components are loading. Mark it "
+                + "asyncLoad, or declare it in depends so it is loaded first.");
+
+        try {
+            return getServer().getScheduler().callSyncMethod(this, () -> loadLazyComponent(componentData)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            logger.severe("Interrupted while waiting for lazy component '" + name + "'.");
+            return false;
+        } catch (ExecutionException e) {
+            logger.severe("Unexpected error when loading lazy component '" + name + "'.");
+            e.printStackTrace();
+
+            return false;
+        }
+    }
+
+    public <T> T getComponent(Class<T> type) {
+        ComponentData componentData = componentsByClass.get(type.getName());
+        if (componentData == null) return null;
+
+        return type.cast(getComponent(componentData.getName()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ComponentHandle<T> getComponentHandle(Class<T> type) {
+        ComponentData componentData = componentsByClass.get(type.getName());
+        if (componentData == null) throw new IllegalArgumentException("No component with class '" + type.getName() + "'.");
+
+        ComponentHandle<T> handle = (ComponentHandle<T>) handles.computeIfAbsent(type.getName(),
+            name -> new ComponentHandle<>(componentData.getName(), type, this::loadForHandle));
+
+        if (componentData.isLoaded()) handle.bind(componentData.getComponent());
+        return handle;
+    }
+
+    private void loadForHandle(String component) {
+        Map<String, ComponentData> components = this.components;
+        if (components == null) return;
+
+        ComponentData componentData = components.get(component);
+        if (componentData != null && componentData.isLazy() && !componentData.isLoaded()) loadLazyComponent(componentData);
+    }
+
+    // References are local component names, "plugin:component" names, or class references.
+    private ComponentData resolveReference(String reference) {
+        ComponentRegistry registry = ComponentRegistry.getInstance();
+
+        if (reference.startsWith(ComponentIndex.CLASS_REFERENCE)) {
+            String className = reference.substring(ComponentIndex.CLASS_REFERENCE.length());
+
+            ComponentData componentData = componentsByClass.get(className);
+            return componentData != null ? componentData : registry.getComponentByClass(className);
+        }
+
+        if (reference.indexOf(ComponentRegistry.NAMESPACE_SEPARATOR) >= 0) return registry.getComponent(reference);
+        return components.get(reference);
+    }
+
+    private boolean ensureLoaded(ComponentData componentData) {
+        if (componentData.isLoaded()) return true;
+        if (components.get(componentData.getName()) == componentData)
+            return componentData.isLazy() && loadLazyComponent(componentData);
+
+        return ComponentRegistry.getInstance().ensureLoaded(componentData);
+    }
+
+    private boolean injectDependencies(Object component, ComponentData componentData) {
+        for (DependencyInjector injector : InjectionPlan.of(component.getClass()).getDependencies()) {
+            String reference = injector.getReference();
+            ComponentData depend = resolveReference(reference);
+
+            String error = null;
+            if (depend == null) error = "no component matches '" + reference + "'";
+            else if (!ensureLoaded(depend))
+                error = "component '" + depend.getName() + "' is not loaded";
+            else if (!injector.getField().getType().isInstance(depend.getComponent()))
+                error = "component '" + depend.getName() + "' is not a " + injector.getField().getType().getName();
+
+            if (error != null) {
+                String msg = "Unable to inject field '" + injector.getName() + "' of component '"
+                    + componentData.getName() + "': " + error + ".";
+
+                logger.severe(msg);
+                componentData.addFailReason(msg);
+
+                return false;
+            }
+
+            injector.set(component, depend.getComponent());
+        }
+
+        return true;
+    }
+
+    protected void registerComponent(ComponentData componentData) {
+        if (!getName().equals(componentData.getPlugin()))
+            throw new IllegalArgumentException("Component '" + componentData.getName() + "' belongs to plugin '"
+                + componentData.getPlugin() + "', not '" + getName() + "'.");
+
+        components.put(componentData.getName(), componentData);
+        componentsByClass.put(componentData.getClassName(), componentData);
+        ComponentRegistry.getInstance().addComponent(componentData);
+    }
+
+    public Collection<ComponentData> getComponents() {
+        return Collections.unmodifiableCollection(components.values());
+    }
+
+    public ComponentTimings getComponentTimings(String component) {
+        ComponentData componentData = components.get(component);
+        return componentData == null ? null : componentData.getTimings();
     }
 
     public boolean loadComponent(ComponentData componentData) {
-        ClassInfo classInfo = componentData.getClassInfo();
+        return loadComponent(componentData, null);
+    }
+
+    // A failed component keeps its data for reporting, but not the instance.
+    private boolean failLoad(ComponentData componentData) {
+        cancelScheduler(componentData);
+        componentData.setComponent(null);
+
+        return false;
+    }
+
+    // onTimeout runs on the watchdog thread if load() overruns its budget, while load() may still be running.
+    private boolean loadComponent(ComponentData componentData, Runnable onTimeout) {
         String componentName = componentData.getName();
 
+        ComponentTimings timings = componentData.getTimings();
+        timings.setLoadThread(Thread.currentThread().getName());
+
         try {
-            Class<?> componentClass = classInfo.loadClass();
+            long start = System.nanoTime();
+            Class<?> componentClass = Class.forName(componentData.getClassName(), true, getClassLoader());
+            timings.setClassLoadNanos(System.nanoTime() - start);
+
+            start = System.nanoTime();
             Object component = componentClass.newInstance();
+            timings.setInstantiateNanos(System.nanoTime() - start);
 
             componentData.setComponent(component);
             components.put(componentData.getName(), componentData);
 
-            if (!injectConfig(component)) {
+            ComponentScheduler scheduler = new ComponentScheduler(componentName, this, computeExecutor, ioExecutor,
+                mainThreadQueue);
+            componentData.setScheduler(scheduler);
+
+            for (DependencyInjector injector : InjectionPlan.of(componentClass).getSchedulers())
+                injector.set(component, scheduler);
+
+            start = System.nanoTime();
+            boolean injected = injectConfig(component, componentData, null, null, null);
+            timings.setInjectNanos(System.nanoTime() - start);
+
+            if (!injected) {
                 String msg = "Unable to inject config into component '" + componentName + "'.";
 
                 logger.severe(msg);
                 componentData.addFailReason(msg);
 
-                return false;
+                return failLoad(componentData);
             }
 
+            if (!injectDependencies(component, componentData)) return failLoad(componentData);
+
             if (component instanceof LoadableComponent) {
                 LoadableComponent lc = (LoadableComponent) component;
-                if (!lc.load()) {
+
+                long timeout = getLoadTimeout(componentData);
+                // load() keeps running past its budget, but the tasks it scheduled are stopped right away.
+                Watchdog.Watch watch = watch(componentData, "load", timeout, () -> {
+                    scheduler.cancel();
+                    if (onTimeout != null) onTimeout.run();
+                });
+
+                start = System.nanoTime();
+                boolean loaded = false;
+                Exception failure = null;
+                try {
+                    loaded = lc.load();
+                } catch (Exception e) {
+                    failure = e;
+                }
+                timings.setLoadNanos(System.nanoTime() - start);
+
+                if (watch != null && !watch.finish()) {
+                    logger.severe("Component '" + componentName + "' did not load within " + timeout + " ms.");
+
+                    // load() got there in the end, so whatever it registered or opened has to be released again.
+                    if (loaded) unloadComponent(componentData);
+                    return failLoad(componentData);
+                }
+
+                if (failure != null) throw failure;
+
+                if (!loaded) {
                     componentData.addFailReason("Load failed for component '" + componentName + "'.");
-                    return false;
+                    return failLoad(componentData);
                 }
             }
         } catch (Exception e) {
             logger.severe("Unexpected error when loading component '" + componentName + "'.");
 
-            componentData.setFailException(ExceptionUtils.getStackTrace(e));
+            componentData.setFailure(e);
             e.printStackTrace();
 
-            return false;
+            return failLoad(componentData);
         }
 
         componentData.setLoaded(true);
+        loadOrder.add(componentData);
+
+        ComponentHandle<?> handle = handles.get(componentData.getClassName());
+        if (handle != null) handle.bind(componentData.getComponent());
+
         return true;
     }
 
@@ -222,9 +1253,92 @@ public class CompoundPlugin extends JavaPlugin {
         return injectConfig(object, null, null, null, null);
     }
 
+    public CompletableFuture<Boolean> injectConfigAsync(Object object) {
+        return injectConfigAsync(object, null, null);
+    }
+
+    public CompletableFuture<Boolean> injectConfigAsync(Object object, String defaultPath, String baseKey) {
+        Set<String> paths = new LinkedHashSet<>(InjectionPlan.of(object.getClass()).getConfigPaths());
+        if (defaultPath != null) paths.add(defaultPath);
+
+        return getConfigCache().preload(paths, ioExecutor)
+            .thenApplyAsync(v -> injectConfig(object, defaultPath, baseKey), ioExecutor);
+    }
+
+    public <T> BatchResult<T> injectAll(Class<T> type, ConfigurationSection section) {
+        return injectAll(type, section, null);
+    }
+
+    // Creates and injects one object per child section. Batches larger than BATCH_CHUNK_SIZE are split into chunks
+    // and injected on the executor, if one is given.
+    public <T> BatchResult<T> injectAll(Class<T> type, ConfigurationSection section, Executor executor) {
+        Constructor<T> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Class '" + type.getName() + "' does not have a no-arg constructor.");
+        }
+
+        List<String> keys = new ArrayList<>(section.getKeys(false));
+        Object[] values = new Object[keys.size()];
+        List<List<String>> failures = new ArrayList<>(Collections.nCopies(keys.size(), null));
+
+        if (executor == null || keys.size() <= BATCH_CHUNK_SIZE)
+            injectBatch(constructor, section, keys, 0, keys.size(), values, failures);
+        else {
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+
+            for (int start = 0; start < keys.size(); start += BATCH_CHUNK_SIZE) {
+                int from = start;
+                int to = Math.min(start + BATCH_CHUNK_SIZE, keys.size());
+
+                chunks.add(CompletableFuture.runAsync(
+                    () -> injectBatch(constructor, section, keys, from, to, values, failures), executor));
+            }
+
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+        }
+
+        BatchResult<T> result = new BatchResult<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (failures.get(i) != null) result.addFailure(keys.get(i), failures.get(i));
+            else result.addValue(keys.get(i), type.cast(values[i]));
+        }
+
+        return result;
+    }
+
+    private void injectBatch(Constructor<?> constructor, ConfigurationSection section, List<String> keys, int from,
+                             int to, Object[] values, List<List<String>> failures) {
+        String path = section.getCurrentPath();
+
+        for (int i = from; i < to; i++) {
+            String key = keys.get(i);
+            List<String> reasons = new ArrayList<>();
+
+            if (!section.isConfigurationSection(key)) {
+                reasons.add("Key '" + key + "' in section '" + path + "' is not a section.");
+                failures.set(i, reasons);
+
+                continue;
+            }
+
+            try {
+                Object object = constructor.newInstance();
+
+                if (injectConfig(object, null, section, path, key, null, reasons::add)) values[i] = object;
+                else failures.set(i, reasons);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                reasons.add("Unable to create object for key '" + key + "' in section '" + path + "': " + e + ".");
+                failures.set(i, reasons);
+            }
+        }
+    }
+
     public boolean injectConfig(Object object, String defaultPath, String baseKey) {
         YamlConfiguration defaultConfig = null;
-        if (defaultPath != null) defaultConfig = loadConfig(defaultPath);
+        if (defaultPath != null) defaultConfig = getConfigCache().get(defaultPath);
 
         return injectConfig(object, null, defaultConfig, defaultPath, baseKey);
     }
@@ -234,36 +1348,42 @@ public class CompoundPlugin extends JavaPlugin {
     }
 
     public boolean injectConfig(Object object, ComponentData componentData, ConfigurationSection defaultConfig, String defaultPath, String baseKey) {
-        Class<?> objectClass = object.getClass();
+        Consumer<String> failReasons = componentData == null ? null : componentData::addFailReason;
+        return injectConfig(object, componentData, defaultConfig, defaultPath, baseKey, null, failReasons);
+    }
 
-        while (objectClass != Object.class) {
-            YamlConfiguration classConfig = null;
-            String classPath = null;
+    private boolean injectConfig(Object object, ComponentData componentData, ConfigurationSection defaultConfig,
+                                 String defaultPath, String baseKey, Set<FieldInjector> onlyFields,
+                                 Consumer<String> failReasons) {
+        InjectionPlan plan = InjectionPlan.of(object.getClass());
+        Map<String, YamlConfiguration> loadedConfigs = new HashMap<>();
 
-            Config configClass = objectClass.getAnnotation(Config.class);
-            if (configClass != null) {
-                classPath = configClass.path();
-                classConfig = loadConfig(classPath);
-            }
+        for (InjectionPlan.Level level : plan.getLevels()) {
+            Class<?> objectClass = level.getType();
+
+            String classPath = level.getPath();
 
-            Field[] fields = objectClass.getDeclaredFields();
-            for (Field field : fields) {
-                Config config = field.getAnnotation(Config.class);
-                if (config == null) continue;
+            for (FieldInjector field : level.getFields()) {
+                if (onlyFields != null && !onlyFields.contains(field)) continue;
 
-                boolean required = config.required();
+                boolean required = field.isRequired();
 
-                String key = config.key().isEmpty() ? field.getName() : config.key();
+                String key = field.getKey();
                 if (baseKey != null) key = baseKey + "." + key;
 
                 ConfigurationSection fieldConfig;
                 String path;
-                if (!config.path().isEmpty()) {
-                    path = config.path();
-                    fieldConfig = loadConfig(path);
-                } else if (classConfig != null) {
-                    path = classPath;
-                    fieldConfig = classConfig;
+                if (field.getPath() != null || classPath != null) {
+                    path = field.getPath() != null ? field.getPath() : classPath;
+                    fieldConfig = loadedConfigs.computeIfAbsent(path, getConfigCache()::get);
+
+                    if (componentData != null) {
+                        ConfigCache cache = getConfigCache();
+                        String normalized = cache.normalize(path);
+
+                        configBindings.bind(normalized, componentData, field);
+                        componentData.getTimings().recordConfigParse(normalized, cache.getParseNanos(normalized));
+                    }
                 } else {
                     path = defaultPath;
                     fieldConfig = defaultConfig;
@@ -274,7 +1394,7 @@ public class CompoundPlugin extends JavaPlugin {
                         String msg = "Could not load config file for key '" + key + "' of field '" + field.getName()
                             + "' in class '" + objectClass.getName() + "'.";
 
-                        if (componentData != null) componentData.addFailReason(msg);
+                        if (failReasons != null) failReasons.accept(msg);
                         logger.warning(msg);
 
                         return false;
@@ -288,7 +1408,7 @@ public class CompoundPlugin extends JavaPlugin {
                         String msg = "Config '" + path + "' does not contain required key '" + key + "' for field '"
                             + field.getName() + "' in class '" + objectClass.getName() + "'.";
 
-                        if (componentData != null) componentData.addFailReason(msg);
+                        if (failReasons != null) failReasons.accept(msg);
                         logger.warning(msg);
 
                         return false;
@@ -297,24 +1417,20 @@ public class CompoundPlugin extends JavaPlugin {
                     continue;
                 }
 
-                Resolve resolve = field.getAnnotation(Resolve.class);
                 Class<?> fieldType = field.getType();
                 Object obj;
-                if (resolve != null) {
-                    Class<? extends Function<?, ?>> resolver = resolve.resolver();
-                    Class<?> fromClass = resolve.from();
-
+                if (field.hasResolver()) {
                     try {
-                        Method apply = resolver.getMethod("apply", fromClass);
+                        if (field.getResolverException() != null) throw field.getResolverException();
 
-                        if (!fieldType.isAssignableFrom(apply.getReturnType())) {
+                        if (!field.isResolverMatching()) {
                             String msg = "Resolver for key '" + key + "' of field '" + field.getName() + "' in class '"
                                 + objectClass.getName() + "' does not match target class.";
 
                             logger.warning(msg);
 
                             if (required) {
-                                if (componentData != null) componentData.addFailReason(msg);
+                                if (failReasons != null) failReasons.accept(msg);
                                 return false;
                             }
 
@@ -322,33 +1438,30 @@ public class CompoundPlugin extends JavaPlugin {
                         }
 
                         Object from = fieldConfig.get(key);
-                        if (fromClass.isInstance(from)) {
+                        if (!field.getResolveFrom().isInstance(from)) {
                             String msg = "Invalid or missing value for key '" + key + "' of field '" + field.getName()
                                 + "' in class '" + objectClass.getName() + "' from config '" + path + "'.";
 
                             logger.warning(msg);
 
                             if (required) {
-                                if (componentData != null) componentData.addFailReason(msg);
+                                if (failReasons != null) failReasons.accept(msg);
                                 return false;
                             }
 
                             continue;
                         }
 
-                        Function<?, ?> resolverInstance = resolver.newInstance();
-                        obj = apply.invoke(resolverInstance, from);
-                    } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                        obj = converters.getResolver(field.getResolverClass()).apply(from);
+                    } catch (ReflectiveOperationException | RuntimeException e) {
                         String msg = "Invalid resolver for key '" + key + "' of field '" + field.getName()
                             + "' in class '" + objectClass.getName() + "'.";
 
                         logger.warning(msg);
 
                         if (required) {
-                            if (componentData != null) {
-                                componentData.addFailReason(msg);
-                                componentData.setFailException(ExceptionUtils.getStackTrace(e));
-                            }
+                            if (failReasons != null) failReasons.accept(msg);
+                            if (componentData != null) componentData.setFailure(e);
 
                             return false;
                         }
@@ -364,44 +1477,29 @@ public class CompoundPlugin extends JavaPlugin {
 
                         logger.warning(msg);
 
-                        if (componentData != null) componentData.addFailReason(msg);
+                        if (failReasons != null) failReasons.accept(msg);
                         return false;
                     }
 
                     continue;
                 }
 
-                fieldType = primitiveToWrapper(fieldType);
-                if (Number.class.isAssignableFrom(fieldType))
-                    obj = convertNumber(obj, fieldType);
-
-                if (obj instanceof String && config.colorize()) {
-                    Matcher matcher = COLOR_MATCHER.matcher((String) obj);
-                    StringBuffer buffer = new StringBuffer();
-
-                    while (matcher.find()) {
-                        try {
-                            String code = matcher.group(1);
-
-                            if (code.length() == 1)
-                                matcher.appendReplacement(buffer, ChatColor.getByChar(code.charAt(0)).toString());
-                            else
-                                matcher.appendReplacement(buffer, ChatColor.of(code).toString());
-                        } catch (IllegalArgumentException e) {
-                            e.printStackTrace();
-                        }
-                    }
-
-                    obj = matcher.appendTail(buffer).toString();
+                if (field.isColorize()) {
+                    if (obj instanceof String) obj = colorizer.colorize((String) obj);
+                    else if (obj instanceof List) obj = colorizer.colorize((List<?>) obj);
                 }
 
+                if (field.getElementType() != null && obj instanceof List)
+                    obj = converters.convertList((List<?>) obj, field.getElementType());
+                else obj = converters.convert(obj, fieldType);
+
                 if (!fieldType.isInstance(obj)) {
                     String msg = "Invalid value for key '" + key + "' of field '" + field.getName()
                         + "' in class '" + objectClass.getName() + "' from config '" + path + "'.";
                     logger.warning(msg);
 
                     if (required) {
-                        if (componentData != null) componentData.addFailReason(msg);
+                        if (failReasons != null) failReasons.accept(msg);
                         return false;
                     }
 
@@ -409,65 +1507,175 @@ public class CompoundPlugin extends JavaPlugin {
                 }
 
                 try {
-                    field.setAccessible(true);
                     field.set(object, obj);
-                } catch (IllegalAccessException | IllegalArgumentException e) {
+                } catch (RuntimeException e) {
                     String msg = "Unable to set value from key '" + key + "' of field '" + field.getName()
                         + "' in class '" + objectClass.getName() + "' from config '" + path + "'.";
 
                     logger.warning(msg);
 
                     if (required) {
-                        if (componentData != null) {
-                            componentData.addFailReason(msg);
-                            componentData.setFailException(ExceptionUtils.getStackTrace(e));
-                        }
+                        if (failReasons != null) failReasons.accept(msg);
+                        if (componentData != null) componentData.setFailure(e);
 
                         return false;
                     }
                 }
             }
-
-            objectClass = objectClass.getSuperclass();
         }
 
         return true;
     }
 
-    private Object convertNumber(Object obj, Class<?> numberClass) {
-        if (numberClass.isInstance(obj)) return obj;
-        if (!(obj instanceof Number)) return obj;
+    // Checks the configs of every component of this plugin without loading or changing anything, so all problems can
+    // be fixed before a restart instead of one at a time.
+    public ValidationReport validateConfigs() {
+        ConfigValidator validator = new ConfigValidator(getConfigCache()::getFile, converters, true);
+        ValidationReport report = new ValidationReport();
+
+        for (ComponentData componentData : components.values())
+            validator.validate(report, componentData, getClassLoader());
+
+        return report;
+    }
+
+    // Writes the current values of the object's @Config fields to their config files, replacing the values there.
+    // The files are rewritten, so their comments are lost. The future fails and the file is left alone if it does
+    // not parse.
+    public CompletableFuture<Void> saveConfig(Object object) {
+        return saveConfig(object, null, null);
+    }
+
+    public CompletableFuture<Void> saveConfig(Object object, String defaultPath, String baseKey) {
+        Map<String, Map<String, Object>> values = new LinkedHashMap<>();
+        collectConfigValues(object, defaultPath, baseKey, values);
+
+        return writeConfigValues(values, true);
+    }
+
+    // Writes the current values of the object's @Config fields to their config files where keys are missing. Like
+    // saveConfig, files that gain keys are rewritten without their comments.
+    public CompletableFuture<Void> writeDefaults(Object object) {
+        return writeDefaults(object, null, null);
+    }
+
+    public CompletableFuture<Void> writeDefaults(Object object, String defaultPath, String baseKey) {
+        Map<String, Map<String, Object>> values = new LinkedHashMap<>();
+        collectConfigValues(object, defaultPath, baseKey, values);
+
+        return writeConfigValues(values, false);
+    }
+
+    // Collects the missing keys of all loaded components first, so every config file is written once.
+    public CompletableFuture<Void> writeComponentDefaults() {
+        Map<String, Map<String, Object>> values = new LinkedHashMap<>();
+
+        for (ComponentData componentData : components.values())
+            if (componentData.isLoaded()) collectConfigValues(componentData.getComponent(), null, null, values);
+
+        return writeConfigValues(values, false);
+    }
+
+    private void collectConfigValues(Object object, String defaultPath, String baseKey,
+                                     Map<String, Map<String, Object>> values) {
+        for (InjectionPlan.Level level : InjectionPlan.of(object.getClass()).getLevels()) {
+            for (FieldInjector field : level.getFields()) {
+                // Resolved values cannot be turned back into what the resolver was given.
+                if (field.hasResolver() || field.getSetterException() != null) continue;
+
+                String path = field.getPath() != null ? field.getPath() : level.getPath();
+                if (path == null) path = defaultPath;
+                if (path == null) continue;
+
+                String key = field.getKey();
+                if (baseKey != null) key = baseKey + "." + key;
 
-        Number number = (Number) obj;
-        if (numberClass == int.class || numberClass == Integer.class) return number.intValue();
-        if (numberClass == long.class || numberClass == Long.class) return number.longValue();
-        if (numberClass == byte.class || numberClass == Byte.class) return number.byteValue();
-        if (numberClass == float.class || numberClass == Float.class) return number.floatValue();
-        if (numberClass == double.class || numberClass == Double.class) return number.doubleValue();
-        if (numberClass == short.class || numberClass == Short.class) return number.shortValue();
+                Object value = field.get(object);
+                if (field.isColorize()) value = uncolorize(value);
 
-        return obj;
+                Object configValue = converters.toConfigValue(value);
+                if (configValue != null) values.computeIfAbsent(path, p -> new LinkedHashMap<>()).put(key, configValue);
+            }
+        }
     }
 
-    private Class<?> primitiveToWrapper(Class<?> type) {
-        if (!type.isPrimitive()) return type;
+    private static Object uncolorize(Object value) {
+        if (value instanceof String) return Colorizer.untranslate((String) value);
+        if (!(value instanceof List)) return value;
 
-        if (type == int.class) return Integer.class;
-        if (type == long.class) return Long.class;
-        if (type == boolean.class) return Boolean.class;
-        if (type == byte.class) return Byte.class;
-        if (type == char.class) return Character.class;
-        if (type == float.class) return Float.class;
-        if (type == double.class) return Double.class;
-        if (type == short.class) return Short.class;
-        if (type == void.class) return Void.class;
+        List<Object> list = new ArrayList<>(((List<?>) value).size());
+        for (Object element : (List<?>) value) list.add(uncolorize(element));
+
+        return list;
+    }
 
-        return type;
+    private CompletableFuture<Void> writeConfigValues(Map<String, Map<String, Object>> values, boolean overwrite) {
+        return CompletableFuture.allOf(values.entrySet().stream()
+            .map(entry -> overwrite
+                ? configWriter.write(entry.getKey(), entry.getValue())
+                : configWriter.writeDefaults(entry.getKey(), entry.getValue()))
+            .toArray(CompletableFuture[]::new));
     }
 
+    // Returns a copy of the cached config, so changes to it never reach the instance that injection reads from.
+    // Values are written back to the file with saveConfig, the cache picks up the rewritten file afterwards.
     public YamlConfiguration loadConfig(String path) {
-        File file = new File(getDataFolder(), path);
-        return YamlConfiguration.loadConfiguration(file);
+        return getConfigCache().getCopy(path);
+    }
+
+    public ConfigCache getConfigCache() {
+        ConfigCache cache = configCache;
+        if (cache != null) return cache;
+
+        synchronized (configCacheLock) {
+            if (configCache == null) configCache = new ConfigCache(getDataFolder(), getConfigCacheSize());
+            return configCache;
+        }
+    }
+
+    public Colorizer getColorizer() {
+        return colorizer;
+    }
+
+    public ConverterRegistry getConverters() {
+        return converters;
+    }
+
+    public ExecutorService getComputeExecutor() {
+        return computeExecutor;
+    }
+
+    public ExecutorService getIoExecutor() {
+        return ioExecutor;
+    }
+
+    // The scheduler of a loaded component, for its queue depth and task latency.
+    public ComponentScheduler getScheduler(String component) {
+        ComponentData componentData = components.get(component);
+        return componentData == null ? null : componentData.getScheduler();
+    }
+
+    // Shared by the components of this plugin through their schedulers, for CPU bound work.
+    protected ExecutorService createComputeExecutor() {
+        return createForkJoinPool("Compute", true);
+    }
+
+    protected ExecutorService createIoExecutor() {
+        ClassLoader classLoader = getClassLoader();
+        AtomicInteger threadCount = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(DEFAULT_IO_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, getName() + "-IO-" + threadCount.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            thread.setDaemon(true);
+            poolThreads.add(thread);
+
+            return thread;
+        });
+    }
+
+    protected int getConfigCacheSize() {
+        return DEFAULT_CONFIG_CACHE_SIZE;
     }
 
 }
@@ -15,4 +15,17 @@ public @interface Component {
 
     String[] depends() default {};
 
+    boolean asyncLoad() default false;
+
+    boolean lazy() default false;
+
+    // Unloads on an executor thread alongside other independent components, instead of on the thread that disables
+    // the plugin. Only for components whose unload() does not need the main thread.
+    boolean asyncUnload() default false;
+
+    // Time budgets in milliseconds for load() and unload(), 0 for no limit.
+    long loadTimeout() default 0;
+
+    long unloadTimeout() default 0;
+
 }
@@ -0,0 +1,190 @@
+package com.tonythemacaroni.compound.processor;
+
+import java.util.Map;
+import java.util.Set;
+import java.io.Writer;
+import java.util.TreeMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import java.util.LinkedHashSet;
+import java.io.OutputStreamWriter;
+import javax.tools.StandardLocation;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.element.Element;
+import javax.lang.model.type.TypeMirror;
+import java.nio.charset.StandardCharsets;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.element.ExecutableElement;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.AbstractProcessor;
+
+import com.tonythemacaroni.compound.annotations.Config;
+import com.tonythemacaroni.compound.annotations.Inject;
+import com.tonythemacaroni.compound.annotations.Resolve;
+import com.tonythemacaroni.compound.util.ComponentIndex;
+import com.tonythemacaroni.compound.annotations.Component;
+
+public class ComponentProcessor extends AbstractProcessor {
+
+    private final Map<String, ComponentIndex.Entry> entries = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> types = new LinkedHashSet<>();
+        types.add(Component.class.getName());
+        types.add(Config.class.getName());
+        types.add(Resolve.class.getName());
+        types.add(Inject.class.getName());
+
+        return types;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Component.class)) {
+            if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                error(element, "@Component can only be used on concrete classes.");
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+            if (!hasNoArgConstructor(type)) {
+                error(element, "Component '" + type.getQualifiedName() + "' must have a public no-argument constructor.");
+                continue;
+            }
+
+            Component component = type.getAnnotation(Component.class);
+            String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+            ComponentIndex.Entry previous = entries.get(component.name());
+            if (previous != null && !previous.getClassName().equals(className)) {
+                error(element, "Duplicate component name '" + component.name() + "', also used by '"
+                    + previous.getClassName() + "'.");
+                continue;
+            }
+
+            entries.put(component.name(), new ComponentIndex.Entry(
+                component.name(),
+                className,
+                component.description(),
+                component.depends(),
+                collectConfigPaths(type),
+                collectProperties(component),
+                collectInjects(type)
+            ));
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Resolve.class)) {
+            if (element.getAnnotation(Config.class) == null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "@Resolve has no effect on field '" + element.getSimpleName() + "' without @Config.", element);
+            }
+        }
+
+        if (roundEnv.processingOver()) writeIndex();
+
+        return false;
+    }
+
+    private String[] collectConfigPaths(TypeElement type) {
+        Set<String> paths = new LinkedHashSet<>();
+
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+            Config classConfig = current.getAnnotation(Config.class);
+            if (classConfig != null && !classConfig.path().isEmpty()) paths.add(classConfig.path());
+
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Config config = field.getAnnotation(Config.class);
+                if (config != null && !config.path().isEmpty()) paths.add(config.path());
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        return paths.toArray(new String[0]);
+    }
+
+    private String[] collectInjects(TypeElement type) {
+        Set<String> injects = new LinkedHashSet<>();
+
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Inject inject = field.getAnnotation(Inject.class);
+                if (inject == null) continue;
+
+                if (!inject.value().isEmpty()) {
+                    injects.add(inject.value());
+                    continue;
+                }
+
+                TypeMirror fieldType = field.asType();
+                if (fieldType.getKind() != TypeKind.DECLARED) {
+                    error(field, "@Inject field '" + field.getSimpleName() + "' must have a component type or name.");
+                    continue;
+                }
+
+                TypeElement fieldElement = (TypeElement) ((DeclaredType) fieldType).asElement();
+                String className = processingEnv.getElementUtils().getBinaryName(fieldElement).toString();
+                if (className.equals(ComponentIndex.SCHEDULER_CLASS)) continue;
+
+                injects.add(ComponentIndex.CLASS_REFERENCE + className);
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        return injects.toArray(new String[0]);
+    }
+
+    private Map<String, String> collectProperties(Component component) {
+        Map<String, String> properties = new TreeMap<>();
+        if (component.asyncLoad()) properties.put("asyncLoad", "true");
+        if (component.lazy()) properties.put("lazy", "true");
+        if (component.asyncUnload()) properties.put("asyncUnload", "true");
+        if (component.loadTimeout() > 0) properties.put("loadTimeout", Long.toString(component.loadTimeout()));
+        if (component.unloadTimeout() > 0) properties.put("unloadTimeout", Long.toString(component.unloadTimeout()));
+
+        return properties;
+    }
+
+    private boolean hasNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements()))
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) return true;
+
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndex.LOCATION);
+
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                ComponentIndex.write(writer, new ArrayList<>(entries.values()));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write component index: " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+}
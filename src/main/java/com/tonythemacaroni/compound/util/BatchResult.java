@@ -0,0 +1,38 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Map;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+
+public class BatchResult<T> {
+
+    private final Map<String, T> values = new LinkedHashMap<>();
+    private final Map<String, List<String>> failures = new LinkedHashMap<>();
+
+    public void addValue(String key, T value) {
+        values.put(key, value);
+    }
+
+    public void addFailure(String key, List<String> reasons) {
+        failures.put(key, Collections.unmodifiableList(new ArrayList<>(reasons)));
+    }
+
+    public Map<String, T> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    public List<T> getList() {
+        return new ArrayList<>(values.values());
+    }
+
+    public Map<String, List<String>> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Map;
+import java.util.List;
+import java.util.ArrayList;
+
+import net.md_5.bungee.api.ChatColor;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+public class Colorizer {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private static final char CODE_CHAR = '&';
+
+    private final LruCache<String, String> cache;
+
+    public Colorizer() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public Colorizer(int cacheSize) {
+        cache = new LruCache<>(cacheSize);
+    }
+
+    public String colorize(String string) {
+        if (string == null || string.indexOf(CODE_CHAR) < 0) return string;
+
+        synchronized (cache) {
+            String cached = cache.get(string);
+            if (cached != null) return cached;
+        }
+
+        String translated = translate(string);
+
+        synchronized (cache) {
+            String cached = cache.putIfAbsent(string, translated);
+            return cached != null ? cached : translated;
+        }
+    }
+
+    public List<String> colorize(List<?> list) {
+        List<String> colorized = new ArrayList<>(list.size());
+
+        for (Object obj : list) colorized.add(obj == null ? null : colorize(obj.toString()));
+
+        return colorized;
+    }
+
+    // Colorizes every string and string list in the section and its subsections in place.
+    public void colorize(ConfigurationSection section) {
+        for (Map.Entry<String, Object> entry : section.getValues(false).entrySet()) {
+            Object value = entry.getValue();
+
+            if (value instanceof ConfigurationSection) colorize((ConfigurationSection) value);
+            else if (value instanceof String) section.set(entry.getKey(), colorize((String) value));
+            else if (value instanceof List) section.set(entry.getKey(), colorize((List<?>) value));
+        }
+    }
+
+    public static String translate(String string) {
+        int start = string.indexOf(CODE_CHAR);
+        if (start < 0) return string;
+
+        char[] chars = string.toCharArray();
+        int length = chars.length;
+
+        StringBuilder builder = new StringBuilder(length + 16);
+        builder.append(chars, 0, start);
+
+        for (int i = start; i < length; i++) {
+            char c = chars[i];
+
+            if (c != CODE_CHAR || i + 1 >= length) {
+                builder.append(c);
+                continue;
+            }
+
+            char code = chars[i + 1];
+            if (isLegacyCode(code)) {
+                builder.append(ChatColor.COLOR_CHAR).append(Character.toLowerCase(code));
+                i++;
+
+                continue;
+            }
+
+            if (code == '#' && isHex(chars, i + 2)) {
+                builder.append(ChatColor.COLOR_CHAR).append('x');
+                for (int j = i + 2; j < i + 8; j++) builder.append(ChatColor.COLOR_CHAR).append(chars[j]);
+                i += 7;
+
+                continue;
+            }
+
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+    // Turns translated colors back into '&' codes, so colorized values can be written back to a config.
+    public static String untranslate(String string) {
+        int start = string.indexOf(ChatColor.COLOR_CHAR);
+        if (start < 0) return string;
+
+        char[] chars = string.toCharArray();
+        int length = chars.length;
+
+        StringBuilder builder = new StringBuilder(length);
+        builder.append(chars, 0, start);
+
+        for (int i = start; i < length; i++) {
+            char c = chars[i];
+
+            if (c != ChatColor.COLOR_CHAR || i + 1 >= length) {
+                builder.append(c);
+                continue;
+            }
+
+            char code = chars[i + 1];
+            if ((code == 'x' || code == 'X') && isTranslatedHex(chars, i + 2)) {
+                builder.append(CODE_CHAR).append('#');
+                for (int j = i + 3; j < i + 14; j += 2) builder.append(chars[j]);
+                i += 13;
+
+                continue;
+            }
+
+            builder.append(CODE_CHAR);
+        }
+
+        return builder.toString();
+    }
+
+    // Returns the index of the first "&#" that is not followed by six hex digits, or -1 if there is none.
+    public static int findMalformedHex(String string) {
+        char[] chars = string.toCharArray();
+
+        for (int i = 0; i + 1 < chars.length; i++)
+            if (chars[i] == CODE_CHAR && chars[i + 1] == '#' && !isHex(chars, i + 2)) return i;
+
+        return -1;
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public int getCacheSize() {
+        return cache.getMaxSize();
+    }
+
+    private static boolean isLegacyCode(char c) {
+        return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F' || c >= 'k' && c <= 'o'
+            || c >= 'K' && c <= 'O' || c == 'r' || c == 'R';
+    }
+
+    private static boolean isHex(char[] chars, int from) {
+        if (from + 6 > chars.length) return false;
+
+        for (int i = from; i < from + 6; i++)
+            if (!isHexDigit(chars[i])) return false;
+
+        return true;
+    }
+
+    // Six digits, each preceded by the color char.
+    private static boolean isTranslatedHex(char[] chars, int from) {
+        if (from + 12 > chars.length) return false;
+
+        for (int i = from; i < from + 12; i += 2)
+            if (chars[i] != ChatColor.COLOR_CHAR || !isHexDigit(chars[i + 1])) return false;
+
+        return true;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+    }
+
+}
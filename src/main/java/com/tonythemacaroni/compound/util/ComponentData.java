@@ -4,44 +4,127 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.List;
+import java.util.Deque;
+import java.util.Objects;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
 
-import io.github.classgraph.ClassInfo;
+import org.apache.commons.lang.exception.ExceptionUtils;
 
 @Getter
-@Setter
 public class ComponentData {
 
+    // Only the most recent fail reasons are kept, a component failing on every reload would grow them forever.
+    public static final int MAX_FAIL_REASONS = 16;
+
+    private final ComponentDescriptor descriptor;
+
+    @Setter
     private Object component;
 
-    private ClassInfo classInfo;
-    private String description;
-    private String[] depends;
-    private String name;
+    // The owning plugin, or null if the component does not belong to a plugin. Part of equals and hashCode, so it
+    // cannot change while the component is in the dependency graph.
+    private final String plugin;
+
+    // Set while the component is loading or loaded.
+    @Setter
+    private volatile ComponentScheduler scheduler;
 
-    private List<String> failReasons = new ArrayList<>();
-    private boolean loaded = false;
-    private String failException;
+    private final ComponentTimings timings = new ComponentTimings();
 
-    public ComponentData(ClassInfo classInfo, String name, String description, String[] depends) {
-        this.name = name;
-        this.depends = depends;
-        this.classInfo = classInfo;
-        this.description = description;
+    private final Deque<String> failReasons = new ArrayDeque<>();
+    @Setter
+    private volatile boolean loaded = false;
+    @Setter
+    private volatile boolean failed = false;
+    // Kept as the original throwable, the stack trace is only rendered when someone asks for it.
+    @Setter
+    private volatile Throwable failure;
+
+    public ComponentData(ComponentDescriptor descriptor, String plugin) {
+        this.descriptor = descriptor;
+        this.plugin = plugin;
     }
 
-    public void setLoaded(boolean loaded) {
-        this.loaded = loaded;
+    public ComponentData(String className, String name, String description, String[] depends, String plugin) {
+        this(new ComponentDescriptor(className, name, description, depends), plugin);
+    }
+
+    public static ComponentData fromIndexEntry(ComponentIndex.Entry entry, String plugin) {
+        return new ComponentData(ComponentDescriptor.fromIndexEntry(entry), plugin);
+    }
+
+    public ComponentIndex.Entry toIndexEntry() {
+        return descriptor.toIndexEntry();
+    }
+
+    public String getClassName() {
+        return descriptor.getClassName();
+    }
+
+    public String getName() {
+        return descriptor.getName();
+    }
+
+    public String getDescription() {
+        return descriptor.getDescription();
+    }
+
+    public String[] getDepends() {
+        return descriptor.getDepends();
+    }
 
-        classInfo = null;
+    public String[] getConfigPaths() {
+        return descriptor.getConfigPaths();
+    }
+
+    public String[] getInjects() {
+        return descriptor.getInjects();
+    }
+
+    public boolean isAsyncLoad() {
+        return descriptor.isAsyncLoad();
+    }
+
+    public boolean isLazy() {
+        return descriptor.isLazy();
+    }
+
+    public boolean isAsyncUnload() {
+        return descriptor.isAsyncUnload();
+    }
+
+    public long getLoadTimeout() {
+        return descriptor.getLoadTimeout();
+    }
+
+    public long getUnloadTimeout() {
+        return descriptor.getUnloadTimeout();
+    }
+
+    // Most recent first.
+    public List<String> getFailReasons() {
+        synchronized (failReasons) {
+            return new ArrayList<>(failReasons);
+        }
     }
 
     public void addFailReason(String reason) {
-        failReasons.add(0, reason);
+        synchronized (failReasons) {
+            failReasons.addFirst(reason);
+            if (failReasons.size() > MAX_FAIL_REASONS) failReasons.removeLast();
+        }
     }
 
     public void clearFailReasons() {
-        failReasons.clear();
+        synchronized (failReasons) {
+            failReasons.clear();
+        }
+    }
+
+    public String getFailException() {
+        Throwable failure = this.failure;
+        return failure == null ? null : ExceptionUtils.getStackTrace(failure);
     }
 
     @Override
@@ -49,12 +132,12 @@ public class ComponentData {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ComponentData that = (ComponentData) o;
-        return name.equals(that.name);
+        return getName().equals(that.getName()) && Objects.equals(plugin, that.plugin);
     }
 
     @Override
     public int hashCode() {
-        return name.hashCode();
+        return Objects.hash(plugin, getName());
     }
 
 }
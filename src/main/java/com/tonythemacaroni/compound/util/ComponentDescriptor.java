@@ -0,0 +1,90 @@
+package com.tonythemacaroni.compound.util;
+
+import lombok.Getter;
+import lombok.AccessLevel;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// The static metadata of a component, as read from the index, a snapshot or a classpath scan. Kept separately from
+// the load state so nothing from discovery outlives it. The arrays are shared and must not be modified.
+@Getter
+public final class ComponentDescriptor {
+
+    private static final String[] EMPTY = new String[0];
+
+    private static final byte ASYNC_LOAD = 1;
+    private static final byte LAZY = 1 << 1;
+    private static final byte ASYNC_UNLOAD = 1 << 2;
+
+    private final String className;
+    private final String name;
+    private final String description;
+    private final String[] depends;
+    private final String[] configPaths;
+    private final String[] injects;
+    private final long loadTimeout;
+    private final long unloadTimeout;
+
+    @Getter(AccessLevel.NONE)
+    private final byte flags;
+
+    public ComponentDescriptor(String className, String name, String description, String[] depends) {
+        this(className, name, description, depends, EMPTY, EMPTY, false, false, false, 0, 0);
+    }
+
+    public ComponentDescriptor(String className, String name, String description, String[] depends,
+                               String[] configPaths, String[] injects, boolean asyncLoad, boolean lazy,
+                               boolean asyncUnload, long loadTimeout, long unloadTimeout) {
+        // Names are interned so the same strings are shared by the depends and injects of other components.
+        this.className = className.intern();
+        this.name = name.intern();
+        this.description = description == null || description.isEmpty() ? "" : description;
+        this.depends = compact(depends);
+        this.configPaths = compact(configPaths);
+        this.injects = compact(injects);
+        this.loadTimeout = loadTimeout;
+        this.unloadTimeout = unloadTimeout;
+        this.flags = (byte) ((asyncLoad ? ASYNC_LOAD : 0) | (lazy ? LAZY : 0) | (asyncUnload ? ASYNC_UNLOAD : 0));
+    }
+
+    public static ComponentDescriptor fromIndexEntry(ComponentIndex.Entry entry) {
+        return new ComponentDescriptor(entry.getClassName(), entry.getName(), entry.getDescription(),
+            entry.getDepends(), entry.getConfigPaths(), entry.getInjects(), entry.getBoolean("asyncLoad"),
+            entry.getBoolean("lazy"), entry.getBoolean("asyncUnload"), entry.getLong("loadTimeout"),
+            entry.getLong("unloadTimeout"));
+    }
+
+    public ComponentIndex.Entry toIndexEntry() {
+        Map<String, String> properties = new TreeMap<>();
+        if (isAsyncLoad()) properties.put("asyncLoad", "true");
+        if (isLazy()) properties.put("lazy", "true");
+        if (isAsyncUnload()) properties.put("asyncUnload", "true");
+        if (loadTimeout > 0) properties.put("loadTimeout", Long.toString(loadTimeout));
+        if (unloadTimeout > 0) properties.put("unloadTimeout", Long.toString(unloadTimeout));
+
+        return new ComponentIndex.Entry(name, className, description, depends, configPaths, properties, injects);
+    }
+
+    public boolean isAsyncLoad() {
+        return (flags & ASYNC_LOAD) != 0;
+    }
+
+    public boolean isLazy() {
+        return (flags & LAZY) != 0;
+    }
+
+    public boolean isAsyncUnload() {
+        return (flags & ASYNC_UNLOAD) != 0;
+    }
+
+    private static String[] compact(String[] strings) {
+        if (strings == null || strings.length == 0) return EMPTY;
+
+        String[] compacted = new String[strings.length];
+        for (int i = 0; i < strings.length; i++) compacted[i] = strings[i].intern();
+
+        return compacted;
+    }
+
+}
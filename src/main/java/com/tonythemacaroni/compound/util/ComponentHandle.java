@@ -0,0 +1,59 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.function.Consumer;
+
+public final class ComponentHandle<T> {
+
+    private final String name;
+    private final Class<T> type;
+    private final Consumer<String> loader;
+
+    private volatile T instance;
+
+    public ComponentHandle(String name, Class<T> type, Consumer<String> loader) {
+        this.name = name;
+        this.type = type;
+        this.loader = loader;
+    }
+
+    public T get() {
+        T instance = this.instance;
+        if (instance != null) return instance;
+
+        return load();
+    }
+
+    public T getIfLoaded() {
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return instance != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public void bind(Object component) {
+        instance = type.cast(component);
+    }
+
+    public void unbind() {
+        instance = null;
+    }
+
+    private T load() {
+        loader.accept(name);
+
+        T instance = this.instance;
+        if (instance == null) throw new IllegalStateException("Component '" + name + "' is not loaded.");
+
+        return instance;
+    }
+
+}
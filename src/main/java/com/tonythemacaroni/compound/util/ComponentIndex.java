@@ -0,0 +1,236 @@
+package com.tonythemacaroni.compound.util;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.io.Writer;
+import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.io.BufferedReader;
+import java.util.LinkedHashMap;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+public final class ComponentIndex {
+
+    public static final String LOCATION = "META-INF/compound/components.index";
+    public static final String CLASS_REFERENCE = "class:";
+    // @Inject fields of this type receive the component's own scheduler, so they are not dependencies.
+    public static final String SCHEDULER_CLASS = "com.tonythemacaroni.compound.util.ComponentScheduler";
+
+    // One tab separated line per component after the header: name, class, description, depends, config paths,
+    // properties and injected components. List values are comma separated and properties are key=value pairs; tabs,
+    // commas, newlines and backslashes in values are backslash escaped. Injected components are either names or
+    // CLASS_REFERENCE followed by the class name of the component.
+    private static final String HEADER_PREFIX = "compound-index ";
+    private static final int VERSION = 2;
+    private static final String HEADER = HEADER_PREFIX + VERSION;
+
+    private ComponentIndex() {
+    }
+
+    // Returns null if the index was written by an older version, which leaves out metadata that a scan would find.
+    public static List<Entry> read(InputStream input) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (isOlderVersion(line)) return null;
+        if (!HEADER.equals(line)) throw new IOException("Unsupported component index header '" + line + "'.");
+
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) continue;
+
+            List<String> columns = split(line, '\t');
+            if (columns.size() != 7) throw new IOException("Malformed component index line '" + line + "'.");
+
+            entries.add(new Entry(
+                unescape(columns.get(0)),
+                unescape(columns.get(1)),
+                unescape(columns.get(2)),
+                readList(columns.get(3)),
+                readList(columns.get(4)),
+                readProperties(columns.get(5)),
+                readList(columns.get(6))
+            ));
+        }
+
+        return entries;
+    }
+
+    public static void write(Writer writer, List<Entry> entries) throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+
+        for (Entry entry : entries) {
+            writer.write(escape(entry.getName()));
+            writer.write('\t');
+            writer.write(escape(entry.getClassName()));
+            writer.write('\t');
+            writer.write(escape(entry.getDescription()));
+            writer.write('\t');
+            writeList(writer, entry.getDepends());
+            writer.write('\t');
+            writeList(writer, entry.getConfigPaths());
+            writer.write('\t');
+            writeProperties(writer, entry.getProperties());
+            writer.write('\t');
+            writeList(writer, entry.getInjects());
+            writer.write('\n');
+        }
+    }
+
+    private static boolean isOlderVersion(String header) {
+        if (header == null || !header.startsWith(HEADER_PREFIX)) return false;
+
+        try {
+            int version = Integer.parseInt(header.substring(HEADER_PREFIX.length()));
+            return version > 0 && version < VERSION;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String[] readList(String column) {
+        if (column.isEmpty()) return new String[0];
+
+        List<String> values = split(column, ',');
+        String[] list = new String[values.size()];
+        for (int i = 0; i < list.length; i++) list[i] = unescape(values.get(i));
+
+        return list;
+    }
+
+    private static void writeList(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(escape(values[i]));
+        }
+    }
+
+    private static Map<String, String> readProperties(String column) {
+        Map<String, String> properties = new LinkedHashMap<>();
+
+        for (String property : readList(column)) {
+            int index = property.indexOf('=');
+            if (index == -1) properties.put(property, "");
+            else properties.put(property.substring(0, index), property.substring(index + 1));
+        }
+
+        return properties;
+    }
+
+    private static void writeProperties(Writer writer, Map<String, String> properties) throws IOException {
+        String[] values = new String[properties.size()];
+
+        int i = 0;
+        for (Map.Entry<String, String> property : properties.entrySet())
+            values[i++] = property.getKey() + "=" + property.getValue();
+
+        writeList(writer, values);
+    }
+
+    private static List<String> split(String value, char separator) {
+        List<String> parts = new ArrayList<>();
+
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == '\\') i++;
+            else if (c == separator) {
+                parts.add(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+
+        parts.add(value.substring(start));
+        return parts;
+    }
+
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '\\': builder.append("\\\\"); break;
+                case '\t': builder.append("\\t"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\r': builder.append("\\r"); break;
+                case ',': builder.append("\\,"); break;
+                default: builder.append(c);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') == -1) return value;
+
+        StringBuilder builder = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c != '\\' || i + 1 == value.length()) {
+                builder.append(c);
+                continue;
+            }
+
+            c = value.charAt(++i);
+            switch (c) {
+                case 't': builder.append('\t'); break;
+                case 'n': builder.append('\n'); break;
+                case 'r': builder.append('\r'); break;
+                default: builder.append(c);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    @Getter
+    public static final class Entry {
+
+        private final String name;
+        private final String className;
+        private final String description;
+        private final String[] depends;
+        private final String[] configPaths;
+        private final Map<String, String> properties;
+        private final String[] injects;
+
+        public Entry(String name, String className, String description, String[] depends, String[] configPaths,
+                     Map<String, String> properties, String[] injects) {
+            this.name = name;
+            this.depends = depends;
+            this.injects = injects;
+            this.className = className;
+            this.properties = properties;
+            this.description = description;
+            this.configPaths = configPaths;
+        }
+
+        public boolean getBoolean(String property) {
+            return Boolean.parseBoolean(properties.get(property));
+        }
+
+        public long getLong(String property) {
+            String value = properties.get(property);
+            if (value == null) return 0;
+
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+    }
+
+}
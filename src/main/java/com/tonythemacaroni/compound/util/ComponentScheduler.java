@@ -0,0 +1,201 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.scheduler.BukkitRunnable;
+
+// A component's view of the plugin's shared pools and the Bukkit scheduler. Everything submitted through it is
+// cancelled when the component unloads or fails to load, so components do not need their own threads or cleanup.
+public class ComponentScheduler implements Executor {
+
+    private final String component;
+    private final Plugin plugin;
+    private final Executor compute;
+    private final Executor io;
+    private final Executor mainThread;
+
+    private final Set<Integer> taskIds = ConcurrentHashMap.newKeySet();
+    private final Set<CompletableFuture<?>> futures = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+
+    private volatile boolean cancelled;
+
+    public ComponentScheduler(String component, Plugin plugin, Executor compute, Executor io, Executor mainThread) {
+        this.component = component;
+        this.plugin = plugin;
+        this.compute = compute;
+        this.io = io;
+        this.mainThread = mainThread;
+    }
+
+    // Runs the task on the shared work-stealing pool, for CPU bound work.
+    @Override
+    public void execute(Runnable task) {
+        submit(compute, task);
+    }
+
+    // Runs the task on the shared I/O pool, for blocking work such as files and databases.
+    public void executeIo(Runnable task) {
+        submit(io, task);
+    }
+
+    // Runs the task on the main thread during the next tick, batched with the callbacks of other components.
+    public void runSync(Runnable task) {
+        submit(mainThread, task);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return supply(compute, supplier);
+    }
+
+    public <T> CompletableFuture<T> supplyIo(Supplier<T> supplier) {
+        return supply(io, supplier);
+    }
+
+    public <T> CompletableFuture<T> supplySync(Supplier<T> supplier) {
+        return supply(mainThread, supplier);
+    }
+
+    public BukkitTask runLater(Runnable task, long delayTicks) {
+        return register(track(task, true).runTaskLater(plugin, delayTicks));
+    }
+
+    public BukkitTask runTimer(Runnable task, long delayTicks, long periodTicks) {
+        return register(track(task, false).runTaskTimer(plugin, delayTicks, periodTicks));
+    }
+
+    public BukkitTask runTimerAsync(Runnable task, long delayTicks, long periodTicks) {
+        return register(track(task, false).runTaskTimerAsynchronously(plugin, delayTicks, periodTicks));
+    }
+
+    // Cancels the Bukkit tasks and pending futures of the component. Queued tasks are skipped and new ones rejected.
+    public void cancel() {
+        cancelled = true;
+
+        for (Integer taskId : taskIds) plugin.getServer().getScheduler().cancelTask(taskId);
+        taskIds.clear();
+
+        for (CompletableFuture<?> future : futures) future.cancel(false);
+        futures.clear();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Tasks submitted to the pools or the main thread that have not started yet.
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public long getStartedTasks() {
+        return started.sum();
+    }
+
+    // Average time between submitting a task and it starting to run.
+    public long getAverageLatencyNanos() {
+        long count = started.sum();
+        return count == 0 ? 0 : latencyNanos.sum() / count;
+    }
+
+    public int getScheduledTasks() {
+        return taskIds.size();
+    }
+
+    private void submit(Executor executor, Runnable task) {
+        checkCancelled();
+
+        long submitted = System.nanoTime();
+        queued.incrementAndGet();
+
+        try {
+            executor.execute(() -> {
+                queued.decrementAndGet();
+                if (cancelled) return;
+
+                latencyNanos.add(System.nanoTime() - submitted);
+                started.increment();
+
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    plugin.getLogger().severe("Error in task of component '" + component + "'.");
+                    e.printStackTrace();
+                }
+            });
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> supply(Executor executor, Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        futures.add(future);
+        future.whenComplete((value, e) -> futures.remove(future));
+
+        try {
+            submit(executor, () -> {
+                try {
+                    future.complete(supplier.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            futures.remove(future);
+            throw e;
+        }
+
+        return future;
+    }
+
+    private BukkitRunnable track(Runnable task, boolean once) {
+        checkCancelled();
+
+        return new BukkitRunnable() {
+
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    plugin.getLogger().severe("Error in scheduled task of component '" + component + "'.");
+                    e.printStackTrace();
+                } finally {
+                    if (once) taskIds.remove(getTaskId());
+                }
+            }
+
+        };
+    }
+
+    private BukkitTask register(BukkitTask task) {
+        taskIds.add(task.getTaskId());
+
+        // cancel() may have run while the task was being scheduled.
+        if (cancelled) {
+            task.cancel();
+            taskIds.remove(task.getTaskId());
+        }
+
+        return task;
+    }
+
+    private void checkCancelled() {
+        if (cancelled) throw new RejectedExecutionException("Component '" + component + "' is no longer loaded.");
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.tonythemacaroni.compound.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.AccessLevel;
+
+import java.util.Map;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+
+@Getter
+@Setter
+public class ComponentTimings {
+
+    private volatile long classLoadNanos;
+    private volatile long instantiateNanos;
+    private volatile long injectNanos;
+    private volatile long loadNanos;
+    private volatile long unloadNanos;
+
+    private volatile String loadThread;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Long> configParseNanos = new LinkedHashMap<>();
+
+    public long getTotalLoadNanos() {
+        return classLoadNanos + instantiateNanos + injectNanos + loadNanos;
+    }
+
+    public synchronized void recordConfigParse(String path, long nanos) {
+        configParseNanos.put(path, nanos);
+    }
+
+    public synchronized Map<String, Long> getConfigParseNanos() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(configParseNanos));
+    }
+
+}
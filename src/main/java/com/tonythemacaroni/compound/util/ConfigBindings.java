@@ -0,0 +1,36 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ConfigBindings {
+
+    private final Map<String, Map<ComponentData, Set<FieldInjector>>> bindings = new ConcurrentHashMap<>();
+
+    public void bind(String path, ComponentData component, FieldInjector field) {
+        bindings
+            .computeIfAbsent(path, p -> new ConcurrentHashMap<>())
+            .computeIfAbsent(component, c -> ConcurrentHashMap.newKeySet())
+            .add(field);
+    }
+
+    public Map<ComponentData, Set<FieldInjector>> getBindings(String path) {
+        Map<ComponentData, Set<FieldInjector>> components = bindings.get(path);
+        return components == null ? Collections.emptyMap() : Collections.unmodifiableMap(components);
+    }
+
+    public Set<String> getPaths() {
+        return Collections.unmodifiableSet(bindings.keySet());
+    }
+
+    public void unbind(ComponentData component) {
+        bindings.values().forEach(components -> components.remove(component));
+    }
+
+    public void clear() {
+        bindings.clear();
+    }
+
+}
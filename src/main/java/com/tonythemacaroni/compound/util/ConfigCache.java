@@ -0,0 +1,243 @@
+package com.tonythemacaroni.compound.util;
+
+import lombok.Getter;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.function.Supplier;
+import java.util.concurrent.Executor;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.InvalidConfigurationException;
+
+public class ConfigCache {
+
+    private final File root;
+    private final Path rootPath;
+    private final LruCache<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ConfigCache(File root, int maxSize) {
+        this.root = root;
+        this.rootPath = root.toPath().toAbsolutePath().normalize();
+        this.entries = new LruCache<>(maxSize);
+    }
+
+    // The returned configuration is shared by every caller until the file changes, so it must not be modified.
+    public YamlConfiguration get(String path) {
+        String key = normalize(path);
+
+        File file = rootPath.resolve(key).toFile();
+        long modified = file.lastModified();
+        long size = file.length();
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+
+            if (entry != null && entry.modified == modified && entry.size == size) {
+                hits.increment();
+                return entry.config;
+            }
+        }
+
+        misses.increment();
+
+        long start = System.nanoTime();
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+        long parseNanos = System.nanoTime() - start;
+
+        synchronized (entries) {
+            entries.put(key, new Entry(config, modified, size, parseNanos));
+        }
+
+        return config;
+    }
+
+    // A copy of the cached configuration that the caller is free to modify. Lists and maps are copied as well, other
+    // values such as deserialized objects are shared with the cached configuration.
+    public YamlConfiguration getCopy(String path) {
+        YamlConfiguration config = get(path);
+        YamlConfiguration copy = new YamlConfiguration();
+
+        for (Map.Entry<String, Object> entry : config.getValues(true).entrySet()) {
+            Object value = entry.getValue();
+
+            if (value instanceof ConfigurationSection) copy.createSection(entry.getKey());
+            else copy.set(entry.getKey(), copyValue(value));
+        }
+
+        return copy;
+    }
+
+    public CompletableFuture<Void> preload(Collection<String> paths, Executor executor) {
+        Set<String> keys = new LinkedHashSet<>();
+        paths.forEach(path -> keys.add(normalize(path)));
+
+        CompletableFuture<?>[] futures = keys.stream()
+            .map(key -> CompletableFuture.runAsync(() -> preload(key), executor))
+            .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    private void preload(String key) {
+        Path file = rootPath.resolve(key);
+        long modified = file.toFile().lastModified();
+        long size = file.toFile().length();
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.modified == modified && entry.size == size) return;
+        }
+
+        long start = System.nanoTime();
+        YamlConfiguration config = new YamlConfiguration();
+        if (Files.isRegularFile(file)) {
+            try {
+                config.loadFromString(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            } catch (IOException | InvalidConfigurationException e) {
+                // Leave the file uncached so the next get parses it again and reports the error.
+                return;
+            }
+        }
+
+        long parseNanos = System.nanoTime() - start;
+
+        misses.increment();
+        synchronized (entries) {
+            entries.put(key, new Entry(config, modified, size, parseNanos));
+        }
+    }
+
+    // Caches a configuration built elsewhere, as long as the file still has the given modification time and size.
+    public boolean restore(String path, Supplier<YamlConfiguration> config, long modified, long size) {
+        String key = normalize(path);
+
+        File file = rootPath.resolve(key).toFile();
+        if (file.lastModified() != modified || file.length() != size) return false;
+
+        Entry entry = new Entry(config.get(), modified, size, 0);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+
+        return true;
+    }
+
+    public Entry getEntry(String path) {
+        String key = normalize(path);
+
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    public String normalize(String path) {
+        Path resolved = rootPath.resolve(path).normalize();
+        if (!resolved.startsWith(rootPath)) return resolved.toString();
+
+        return rootPath.relativize(resolved).toString().replace(File.separatorChar, '/');
+    }
+
+    public File getFile(String path) {
+        return rootPath.resolve(normalize(path)).toFile();
+    }
+
+    // Time spent reading and parsing the cached copy of the file, or -1 if it is not cached.
+    public long getParseNanos(String path) {
+        String key = normalize(path);
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry == null ? -1 : entry.parseNanos;
+        }
+    }
+
+    public void invalidate(String path) {
+        String key = normalize(path);
+
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return entries.getMaxSize();
+    }
+
+    public File getRoot() {
+        return root;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof List) {
+            List<Object> list = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) list.add(copyValue(element));
+
+            return list;
+        }
+
+        if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+                map.put(entry.getKey(), copyValue(entry.getValue()));
+
+            return map;
+        }
+
+        return value;
+    }
+
+    @Getter
+    public static final class Entry {
+
+        private final YamlConfiguration config;
+        private final long modified;
+        private final long size;
+        private final long parseNanos;
+
+        private Entry(YamlConfiguration config, long modified, long size, long parseNanos) {
+            this.config = config;
+            this.modified = modified;
+            this.size = size;
+            this.parseNanos = parseNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,311 @@
+package com.tonythemacaroni.compound.util;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.function.Function;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.InvalidConfigurationException;
+
+// Checks config values against the @Config fields of a class the way injection would, without creating or changing
+// anything, and collects every problem instead of stopping at the first one.
+public class ConfigValidator {
+
+    private final Function<String, File> configFiles;
+    private final ConverterRegistry converters;
+    // Resolvers may need a running server, so they are only applied when one is available.
+    private final boolean applyResolvers;
+
+    // Files are parsed once per validator, a file that does not parse has its error here instead of a config.
+    private final Map<String, YamlConfiguration> parsedConfigs = new HashMap<>();
+    private final Map<String, String> parseErrors = new HashMap<>();
+
+    public ConfigValidator(Function<String, File> configFiles, ConverterRegistry converters, boolean applyResolvers) {
+        this.configFiles = configFiles;
+        this.converters = converters;
+        this.applyResolvers = applyResolvers;
+    }
+
+    public ValidationReport validate(ComponentData componentData, ClassLoader classLoader) {
+        ValidationReport report = new ValidationReport();
+        validate(report, componentData, classLoader);
+
+        return report;
+    }
+
+    public void validate(ValidationReport report, ComponentData componentData, ClassLoader classLoader) {
+        String className = componentData.getClassName();
+
+        Class<?> type;
+        try {
+            type = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            report.add(new ValidationReport.Problem(ValidationReport.Severity.ERROR, componentData.getName(),
+                className, null, null, null, "Could not find class '" + className + "' of component '"
+                + componentData.getName() + "'."));
+
+            return;
+        }
+
+        validate(report, componentData.getName(), type, null, null, null);
+    }
+
+    public void validate(ValidationReport report, String component, Class<?> type, ConfigurationSection defaultConfig,
+                         String defaultPath, String baseKey) {
+        InjectionPlan plan = InjectionPlan.of(type);
+        Map<String, ConfigurationSection> loadedConfigs = new HashMap<>();
+
+        for (InjectionPlan.Level level : plan.getLevels()) {
+            String className = level.getType().getName();
+            String classPath = level.getPath();
+
+            for (FieldInjector field : level.getFields()) {
+                boolean required = field.isRequired();
+                ValidationReport.Severity severity = required
+                    ? ValidationReport.Severity.ERROR
+                    : ValidationReport.Severity.WARNING;
+
+                String key = field.getKey();
+                if (baseKey != null) key = baseKey + "." + key;
+
+                ConfigurationSection fieldConfig;
+                String path;
+                if (field.getPath() != null || classPath != null) {
+                    path = field.getPath() != null ? field.getPath() : classPath;
+                    fieldConfig = loadedConfigs.computeIfAbsent(path, p -> loadConfig(report, p));
+                } else {
+                    path = defaultPath;
+                    fieldConfig = defaultConfig;
+                }
+
+                Reporter reporter = new Reporter(report, severity, component, className, field.getName(), path, key);
+
+                if (field.getSetterException() != null)
+                    reporter.report("Field '" + field.getName() + "' in class '" + className + "' cannot be set.");
+
+                if (fieldConfig == null) {
+                    // The parse error was already reported once for the whole file.
+                    if (required && !hasParseError(path))
+                        reporter.report("Could not load config file for key '" + key + "' of field '"
+                            + field.getName() + "' in class '" + className + "'.");
+
+                    continue;
+                }
+
+                if (!fieldConfig.contains(key)) {
+                    if (required) reporter.report("Config '" + path + "' does not contain required key '" + key
+                        + "' for field '" + field.getName() + "' in class '" + className + "'.");
+
+                    continue;
+                }
+
+                Object obj = fieldConfig.get(key);
+                if (obj == null) {
+                    reporter.report("Missing value for key '" + key + "' of field '" + field.getName() + "' in class '"
+                        + className + "' from config '" + path + "'.");
+
+                    continue;
+                }
+
+                if (field.isColorize()) checkColors(reporter, obj);
+
+                if (field.hasResolver()) {
+                    validateResolver(reporter, field, obj);
+                    continue;
+                }
+
+                Object converted = field.getElementType() != null && obj instanceof List
+                    ? converters.convertList((List<?>) obj, field.getElementType())
+                    : converters.convert(obj, field.getType());
+
+                if (!field.getType().isInstance(converted))
+                    reporter.report("Invalid value for key '" + key + "' of field '" + field.getName() + "' in class '"
+                        + className + "' from config '" + path + "'.");
+            }
+        }
+    }
+
+    // Unlike the config cache, which reads a file that does not parse as empty, a syntax error is reported once per
+    // file rather than as a missing key for every field that reads from it.
+    private synchronized YamlConfiguration loadConfig(ValidationReport report, String path) {
+        File file = configFiles.apply(path);
+        String key = file.getAbsolutePath();
+
+        YamlConfiguration config = parsedConfigs.get(key);
+        if (config != null) return config;
+
+        String error = parseErrors.get(key);
+        if (error == null) {
+            config = new YamlConfiguration();
+            if (!file.isFile()) return config;
+
+            try {
+                config.load(file);
+                parsedConfigs.put(key, config);
+
+                return config;
+            } catch (IOException | InvalidConfigurationException e) {
+                error = "Could not parse config '" + path + "': " + e.getMessage();
+                parseErrors.put(key, error);
+            }
+        }
+
+        report.addIfAbsent(new ValidationReport.Problem(ValidationReport.Severity.ERROR, null, null, null, path, null,
+            error));
+
+        return null;
+    }
+
+    private synchronized boolean hasParseError(String path) {
+        return path != null && parseErrors.containsKey(configFiles.apply(path).getAbsolutePath());
+    }
+
+    private void validateResolver(Reporter reporter, FieldInjector field, Object from) {
+        String target = "key '" + reporter.key + "' of field '" + field.getName() + "' in class '"
+            + reporter.className + "'";
+
+        if (field.getResolverException() != null || !field.isResolverMatching()) {
+            reporter.report("Resolver for " + target + " does not match target class.");
+            return;
+        }
+
+        if (!field.getResolveFrom().isInstance(from)) {
+            reporter.report("Invalid or missing value for " + target + " from config '" + reporter.path + "'.");
+            return;
+        }
+
+        // Without a server the resolver is not created, its constructor may already need one.
+        if (!applyResolvers) {
+            try {
+                field.getResolverClass().getDeclaredConstructor();
+            } catch (NoSuchMethodException | RuntimeException e) {
+                reporter.report("Invalid resolver for " + target + ".");
+            }
+
+            return;
+        }
+
+        // A throwaway instance, so validating neither caches a resolver in the shared converter registry nor changes the
+        // state of the one injection uses.
+        Function<Object, Object> resolver;
+        try {
+            resolver = ConverterRegistry.createResolver(field.getResolverClass());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            reporter.report("Invalid resolver for " + target + ".");
+            return;
+        }
+
+        try {
+            Object obj = resolver.apply(from);
+            if (!field.getType().isInstance(obj))
+                reporter.report("Invalid value for " + target + " from config '" + reporter.path + "'.");
+        } catch (RuntimeException e) {
+            reporter.report("Resolver for " + target + " failed on the value from config '" + reporter.path + "': "
+                + e + ".");
+        }
+    }
+
+    private static void checkColors(Reporter reporter, Object obj) {
+        if (obj instanceof List) {
+            for (Object element : (List<?>) obj)
+                if (element != null) checkColors(reporter, element);
+
+            return;
+        }
+
+        if (!(obj instanceof String)) return;
+
+        String string = (String) obj;
+        int index = Colorizer.findMalformedHex(string);
+        if (index >= 0)
+            new Reporter(reporter, ValidationReport.Severity.WARNING).report("Malformed hex color '"
+                + string.substring(index, Math.min(index + 8, string.length())) + "' for key '" + reporter.key
+                + "' in config '" + reporter.path + "'.");
+    }
+
+    // Validates every indexed component on the classpath against the config files in a directory, without a server:
+    // java -cp <spigot-api>:<Compound>:<plugin jars> com.tonythemacaroni.compound.util.ConfigValidator <config dir>
+    // Exits with status 1 if any component would fail to load.
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ConfigValidator <config directory>");
+            System.exit(2);
+        }
+
+        File root = new File(args[0]);
+        if (!root.isDirectory()) {
+            System.err.println("'" + root + "' is not a directory.");
+            System.exit(2);
+        }
+
+        ClassLoader classLoader = ConfigValidator.class.getClassLoader();
+        ConfigCache configs = new ConfigCache(root, Integer.MAX_VALUE);
+        ConfigValidator validator = new ConfigValidator(configs::getFile, new ConverterRegistry(), false);
+
+        ValidationReport report = new ValidationReport();
+        int components = 0;
+
+        Enumeration<URL> indexes = classLoader.getResources(ComponentIndex.LOCATION);
+        while (indexes.hasMoreElements()) {
+            URL index = indexes.nextElement();
+
+            try (InputStream input = index.openStream()) {
+                List<ComponentIndex.Entry> entries = ComponentIndex.read(input);
+                if (entries == null) {
+                    System.err.println("Skipping '" + index + "', it was built by an older version of Compound.");
+                    continue;
+                }
+
+                for (ComponentIndex.Entry entry : entries) {
+                    validator.validate(report, ComponentData.fromIndexEntry(entry, null), classLoader);
+                    components++;
+                }
+            }
+        }
+
+        System.out.println("Validated " + components + " component(s) against '" + root + "'.");
+        System.out.println(report.format());
+
+        System.exit(report.isValid() ? 0 : 1);
+    }
+
+    private static final class Reporter {
+
+        private final ValidationReport report;
+        private final ValidationReport.Severity severity;
+        private final String component;
+        private final String className;
+        private final String field;
+        private final String path;
+        private final String key;
+
+        private Reporter(ValidationReport report, ValidationReport.Severity severity, String component,
+                         String className, String field, String path, String key) {
+            this.report = report;
+            this.severity = severity;
+            this.component = component;
+            this.className = className;
+            this.field = field;
+            this.path = path;
+            this.key = key;
+        }
+
+        private Reporter(Reporter reporter, ValidationReport.Severity severity) {
+            this(reporter.report, severity, reporter.component, reporter.className, reporter.field, reporter.path,
+                reporter.key);
+        }
+
+        private void report(String message) {
+            report.add(new ValidationReport.Problem(severity, component, className, field, path, key, message));
+        }
+
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Set;
+import java.nio.file.Path;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.WatchKey;
+import java.util.LinkedHashSet;
+import java.util.stream.Stream;
+import java.nio.file.WatchEvent;
+import java.util.logging.Logger;
+import java.nio.file.FileSystems;
+import java.nio.file.WatchService;
+import java.util.function.Consumer;
+import java.util.concurrent.TimeUnit;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.ClosedWatchServiceException;
+
+public class ConfigWatcher implements AutoCloseable {
+
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final Path root;
+    private final Logger logger;
+    private final Consumer<Set<String>> listener;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    public ConfigWatcher(Path root, Logger logger, Consumer<Set<String>> listener) {
+        this.root = root;
+        this.logger = logger;
+        this.listener = listener;
+    }
+
+    public void start(String threadName) throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (Path directory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator)
+                register(directory);
+        }
+
+        thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        if (thread != null) thread.interrupt();
+
+        try {
+            if (watchService != null) watchService.close();
+        } catch (IOException e) {
+            logger.warning("Unable to close config watcher.");
+            e.printStackTrace();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<String> changed = new LinkedHashSet<>();
+
+                WatchKey key = watchService.take();
+                do {
+                    poll(key, changed);
+                } while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null);
+
+                if (!changed.isEmpty()) listener.accept(changed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+        }
+    }
+
+    private void poll(WatchKey key, Set<String> changed) {
+        Path directory = (Path) key.watchable();
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    register(path);
+                } catch (IOException e) {
+                    logger.warning("Unable to watch config directory '" + path + "'.");
+                }
+
+                continue;
+            }
+
+            String name = path.getFileName().toString();
+            if (name.endsWith(".yml") || name.endsWith(".yaml"))
+                changed.add(root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/"));
+        }
+
+        key.reset();
+    }
+
+    private void register(Path directory) throws IOException {
+        directory.register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE
+        );
+    }
+
+}
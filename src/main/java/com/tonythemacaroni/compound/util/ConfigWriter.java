@@ -0,0 +1,193 @@
+package com.tonythemacaroni.compound.util;
+
+import java.io.File;
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.logging.Logger;
+import java.util.concurrent.Executor;
+import java.nio.file.StandardCopyOption;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.nio.file.AtomicMoveNotSupportedException;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.InvalidConfigurationException;
+
+// Writes values into config files off the calling thread. Writes to a file that are requested before its pending
+// write starts are merged into it, so each file is read and written once per batch. Files are rewritten from the
+// parsed config, so comments other than the header are lost; a file that does not parse is never written.
+public class ConfigWriter {
+
+    private final ConfigCache configCache;
+    private final Executor executor;
+    private final Logger logger;
+
+    private final Map<String, PendingWrite> pending = new HashMap<>();
+    // Writes of the same file must not overlap, even when the executor runs them on different threads.
+    private final Map<String, Object> fileLocks = new ConcurrentHashMap<>();
+    // The modification time and size each file had right after this writer replaced it.
+    private final Map<String, WrittenFile> written = new ConcurrentHashMap<>();
+
+    public ConfigWriter(ConfigCache configCache, Executor executor, Logger logger) {
+        this.configCache = configCache;
+        this.executor = executor;
+        this.logger = logger;
+    }
+
+    // Sets the values in the file, replacing existing ones.
+    public CompletableFuture<Void> write(String path, Map<String, Object> values) {
+        return enqueue(path, values, true);
+    }
+
+    // Sets only the values that the file does not contain yet.
+    public CompletableFuture<Void> writeDefaults(String path, Map<String, Object> values) {
+        return enqueue(path, values, false);
+    }
+
+    // Runs every pending write on the calling thread.
+    public void flush() {
+        List<String> keys;
+        synchronized (pending) {
+            keys = new ArrayList<>(pending.keySet());
+        }
+
+        keys.forEach(this::flush);
+    }
+
+    // Whether the file is still exactly as this writer last left it, so a change event for it came from the writer
+    // itself and not from someone editing the file.
+    public boolean isOwnWrite(String path) {
+        String key = configCache.normalize(path);
+
+        WrittenFile state = written.get(key);
+        if (state == null) return false;
+
+        File file = configCache.getFile(key);
+        if (file.lastModified() == state.modified && file.length() == state.size) return true;
+
+        written.remove(key, state);
+        return false;
+    }
+
+    private CompletableFuture<Void> enqueue(String path, Map<String, Object> values, boolean overwrite) {
+        String key = configCache.normalize(path);
+
+        PendingWrite write;
+        boolean created = false;
+
+        synchronized (pending) {
+            write = pending.get(key);
+            if (write == null) {
+                write = new PendingWrite();
+                pending.put(key, write);
+                created = true;
+            }
+
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                if (overwrite) {
+                    write.values.put(entry.getKey(), entry.getValue());
+                    write.defaults.remove(entry.getKey());
+                } else if (!write.values.containsKey(entry.getKey()))
+                    write.defaults.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (created) executor.execute(() -> flush(key));
+        return write.future;
+    }
+
+    private void flush(String key) {
+        synchronized (fileLocks.computeIfAbsent(key, k -> new Object())) {
+            PendingWrite write;
+            synchronized (pending) {
+                write = pending.remove(key);
+            }
+
+            if (write == null) return;
+
+            try {
+                writeFile(key, write);
+                write.future.complete(null);
+            } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+                logger.warning("Unable to write config '" + key + "'.");
+                e.printStackTrace();
+
+                write.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void writeFile(String key, PendingWrite write) throws IOException, InvalidConfigurationException {
+        File file = configCache.getFile(key);
+        boolean exists = file.exists();
+
+        // loadConfiguration would hand back an empty config for a file with a typo, and writing that would wipe it.
+        YamlConfiguration config = new YamlConfiguration();
+        if (exists) config.load(file);
+
+        boolean changed = !exists;
+
+        for (Map.Entry<String, Object> entry : write.defaults.entrySet()) {
+            if (config.contains(entry.getKey())) continue;
+
+            config.set(entry.getKey(), entry.getValue());
+            changed = true;
+        }
+
+        for (Map.Entry<String, Object> entry : write.values.entrySet()) {
+            config.set(entry.getKey(), entry.getValue());
+            changed = true;
+        }
+
+        if (!changed) return;
+
+        Path target = file.toPath();
+        Files.createDirectories(target.toAbsolutePath().getParent());
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.write(temp, config.saveToString().getBytes(StandardCharsets.UTF_8));
+
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // Some file systems, like network shares, cannot rename atomically; a plain replace is still better
+                // than failing the write.
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        written.put(key, new WrittenFile(file.lastModified(), file.length()));
+        configCache.invalidate(key);
+    }
+
+    private static final class PendingWrite {
+
+        private final Map<String, Object> values = new LinkedHashMap<>();
+        private final Map<String, Object> defaults = new LinkedHashMap<>();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    }
+
+    private static final class WrittenFile {
+
+        private final long modified;
+        private final long size;
+
+        private WrittenFile(long modified, long size) {
+            this.modified = modified;
+            this.size = size;
+        }
+
+    }
+
+}
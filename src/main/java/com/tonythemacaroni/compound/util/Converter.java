@@ -0,0 +1,9 @@
+package com.tonythemacaroni.compound.util;
+
+@FunctionalInterface
+public interface Converter<T> {
+
+    // Returns null if the value cannot be converted.
+    T convert(Object value);
+
+}
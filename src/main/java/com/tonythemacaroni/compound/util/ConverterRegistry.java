@@ -0,0 +1,210 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Map;
+import java.util.List;
+import java.util.UUID;
+import java.util.Locale;
+import java.util.ArrayList;
+import java.time.Duration;
+import java.util.function.Function;
+import java.lang.reflect.Constructor;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Sound;
+import org.bukkit.Material;
+
+public class ConverterRegistry {
+
+    private final Map<Class<?>, Converter<?>> converters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Function<?, ?>> resolvers = new ConcurrentHashMap<>();
+
+    public ConverterRegistry() {
+        register(Integer.class, value -> value instanceof Number ? ((Number) value).intValue() : null);
+        register(Long.class, value -> value instanceof Number ? ((Number) value).longValue() : null);
+        register(Short.class, value -> value instanceof Number ? ((Number) value).shortValue() : null);
+        register(Byte.class, value -> value instanceof Number ? ((Number) value).byteValue() : null);
+        register(Float.class, value -> value instanceof Number ? ((Number) value).floatValue() : null);
+        register(Double.class, value -> value instanceof Number ? ((Number) value).doubleValue() : null);
+
+        register(String.class, value -> value instanceof Number || value instanceof Boolean ? value.toString() : null);
+        register(Boolean.class, value -> value instanceof String ? parseBoolean((String) value) : null);
+        register(Character.class, value -> value instanceof String && ((String) value).length() == 1
+            ? ((String) value).charAt(0) : null);
+
+        register(UUID.class, value -> {
+            if (!(value instanceof String)) return null;
+
+            try {
+                return UUID.fromString((String) value);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        });
+
+        register(Duration.class, ConverterRegistry::parseDuration);
+        register(Material.class, value -> value instanceof String ? Material.matchMaterial((String) value) : null);
+        register(Sound.class, value -> {
+            if (!(value instanceof String)) return null;
+
+            String name = (String) value;
+            if (name.startsWith("minecraft:")) name = name.substring("minecraft:".length());
+
+            return enumValue(Sound.class, name);
+        });
+    }
+
+    public <T> void register(Class<T> type, Converter<? extends T> converter) {
+        converters.put(wrap(type), converter);
+    }
+
+    public void unregister(Class<?> type) {
+        converters.remove(wrap(type));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> Converter<T> getConverter(Class<T> type) {
+        Converter<?> converter = converters.get(type);
+        if (converter == null && type.isEnum())
+            converter = converters.computeIfAbsent(type, t -> value -> enumValue((Class) t, value));
+
+        return (Converter<T>) converter;
+    }
+
+    // Returns the value as the given type, or null if it cannot be converted.
+    public Object convert(Object value, Class<?> type) {
+        if (value == null || type.isInstance(value)) return value;
+
+        Converter<?> converter = getConverter(type);
+        return converter == null ? null : converter.convert(value);
+    }
+
+    // Converts every element of the list, returning null if any element cannot be converted.
+    public List<Object> convertList(List<?> list, Class<?> elementType) {
+        List<Object> converted = new ArrayList<>(list.size());
+
+        for (Object element : list) {
+            Object obj = convert(element, elementType);
+            if (obj == null) return null;
+
+            converted.add(obj);
+        }
+
+        return converted;
+    }
+
+    // Returns a config value that converts back to the given value, or null if it cannot be stored in a config.
+    public Object toConfigValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean)
+            return value;
+
+        if (value instanceof Character || value instanceof UUID || value instanceof Duration) return value.toString();
+        if (value instanceof Enum) return ((Enum<?>) value).name();
+
+        if (!(value instanceof List)) return null;
+
+        List<Object> list = new ArrayList<>(((List<?>) value).size());
+        for (Object element : (List<?>) value) {
+            Object obj = toConfigValue(element);
+            if (obj == null) return null;
+
+            list.add(obj);
+        }
+
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Function<Object, Object> getResolver(Class<? extends Function<?, ?>> type) throws ReflectiveOperationException {
+        Function<?, ?> resolver = resolvers.get(type);
+
+        if (resolver == null) {
+            Function<?, ?> created = createResolver(type);
+            resolver = resolvers.putIfAbsent(type, created);
+            if (resolver == null) resolver = created;
+        }
+
+        return (Function<Object, Object>) resolver;
+    }
+
+    // A new resolver that is not cached, for callers that must not leave an instance behind in the registry.
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> createResolver(Class<? extends Function<?, ?>> type)
+        throws ReflectiveOperationException {
+        Constructor<? extends Function<?, ?>> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        return (Function<Object, Object>) constructor.newInstance();
+    }
+
+    public void clearResolvers() {
+        resolvers.clear();
+    }
+
+    public static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        if (type == float.class) return Float.class;
+        if (type == double.class) return Double.class;
+        if (type == short.class) return Short.class;
+        if (type == void.class) return Void.class;
+
+        return type;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, Object value) {
+        if (!(value instanceof String)) return null;
+
+        String name = ((String) value).trim().toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_').replace('.', '_');
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) return true;
+        if (value.equalsIgnoreCase("false")) return false;
+
+        return null;
+    }
+
+    // Accepts ISO-8601 durations ("PT30S") or a number with a unit suffix ("500ms", "30s", "5m", "2h", "1d").
+    // Plain numbers are read as milliseconds.
+    private static Duration parseDuration(Object value) {
+        if (value instanceof Number) return Duration.ofMillis(((Number) value).longValue());
+        if (!(value instanceof String)) return null;
+
+        String string = ((String) value).trim().toLowerCase(Locale.ROOT);
+        if (string.isEmpty()) return null;
+
+        try {
+            if (string.startsWith("p")) return Duration.parse(string);
+
+            if (string.endsWith("ms")) return Duration.ofMillis(Long.parseLong(string.substring(0, string.length() - 2)));
+
+            long amount = Long.parseLong(string.substring(0, string.length() - 1));
+            switch (string.charAt(string.length() - 1)) {
+                case 's':
+                    return Duration.ofSeconds(amount);
+                case 'm':
+                    return Duration.ofMinutes(amount);
+                case 'h':
+                    return Duration.ofHours(amount);
+                case 'd':
+                    return Duration.ofDays(amount);
+                default:
+                    return Duration.ofMillis(Long.parseLong(string));
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+}
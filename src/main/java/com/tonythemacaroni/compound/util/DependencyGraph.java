@@ -0,0 +1,186 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.HashMultimap;
+
+// Every method holds the lock, and reads return copies, so the graph can be shared between plugins and read from
+// any thread while another plugin is adding its components.
+public class DependencyGraph {
+
+    private final Object lock;
+
+    private final Set<ComponentData> nodes = new LinkedHashSet<>();
+
+    private final SetMultimap<ComponentData, ComponentData> dependencies = HashMultimap.create();
+    private final SetMultimap<ComponentData, ComponentData> dependents = HashMultimap.create();
+
+    public DependencyGraph() {
+        this.lock = this;
+    }
+
+    public DependencyGraph(Object lock) {
+        this.lock = lock;
+    }
+
+    public void addNode(ComponentData node) {
+        synchronized (lock) {
+            nodes.add(node);
+        }
+    }
+
+    public void addDependency(ComponentData component, ComponentData dependency) {
+        synchronized (lock) {
+            nodes.add(component);
+            nodes.add(dependency);
+
+            dependencies.put(component, dependency);
+            dependents.put(dependency, component);
+        }
+    }
+
+    public void removeNode(ComponentData node) {
+        synchronized (lock) {
+            nodes.remove(node);
+
+            for (ComponentData dependency : dependencies.removeAll(node)) dependents.remove(dependency, node);
+            for (ComponentData dependent : dependents.removeAll(node)) dependencies.remove(dependent, node);
+        }
+    }
+
+    public Set<ComponentData> getNodes() {
+        synchronized (lock) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(nodes));
+        }
+    }
+
+    public Set<ComponentData> getDependencies(ComponentData component) {
+        synchronized (lock) {
+            return Collections.unmodifiableSet(new HashSet<>(dependencies.get(component)));
+        }
+    }
+
+    public Set<ComponentData> getDependents(ComponentData component) {
+        synchronized (lock) {
+            return Collections.unmodifiableSet(new HashSet<>(dependents.get(component)));
+        }
+    }
+
+    // Returns the node and everything that depends on it, directly or transitively.
+    public Set<ComponentData> getTransitiveDependents(ComponentData node) {
+        synchronized (lock) {
+            Set<ComponentData> result = new LinkedHashSet<>();
+            Deque<ComponentData> pending = new ArrayDeque<>();
+            pending.add(node);
+
+            while (!pending.isEmpty()) {
+                ComponentData current = pending.poll();
+                if (result.add(current)) pending.addAll(dependents.get(current));
+            }
+
+            return result;
+        }
+    }
+
+    public List<ComponentData> topologicalOrder() {
+        return topologicalOrder(nodes);
+    }
+
+    // Orders only the given nodes, ignoring edges to nodes outside of them.
+    public List<ComponentData> topologicalOrder(Collection<ComponentData> subset) {
+        synchronized (lock) {
+            return order(subset);
+        }
+    }
+
+    public List<ComponentData> findCycle() {
+        synchronized (lock) {
+            Set<ComponentData> visited = new HashSet<>();
+            Deque<ComponentData> path = new ArrayDeque<>();
+            Set<ComponentData> onPath = new HashSet<>();
+
+            for (ComponentData node : nodes) {
+                List<ComponentData> cycle = findCycle(node, visited, path, onPath);
+                if (cycle != null) return cycle;
+            }
+
+            return Collections.emptyList();
+        }
+    }
+
+    private List<ComponentData> order(Collection<ComponentData> subset) {
+        Set<ComponentData> included = subset instanceof Set ? (Set<ComponentData>) subset : new HashSet<>(subset);
+        Map<ComponentData, Integer> inDegree = new HashMap<>();
+        Deque<ComponentData> ready = new ArrayDeque<>();
+
+        for (ComponentData node : nodes) {
+            if (!included.contains(node)) continue;
+
+            int degree = 0;
+            for (ComponentData dependency : dependencies.get(node))
+                if (included.contains(dependency)) degree++;
+
+            if (degree == 0) ready.add(node);
+            else inDegree.put(node, degree);
+        }
+
+        List<ComponentData> order = new ArrayList<>(included.size());
+        while (!ready.isEmpty()) {
+            ComponentData node = ready.poll();
+            order.add(node);
+
+            for (ComponentData dependent : dependents.get(node)) {
+                if (!included.contains(dependent)) continue;
+
+                int degree = inDegree.merge(dependent, -1, Integer::sum);
+
+                if (degree == 0) {
+                    inDegree.remove(dependent);
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        return order;
+    }
+
+    private List<ComponentData> findCycle(ComponentData node, Set<ComponentData> visited, Deque<ComponentData> path,
+                                          Set<ComponentData> onPath) {
+        if (onPath.contains(node)) {
+            List<ComponentData> cycle = new ArrayList<>();
+
+            for (ComponentData current : path)
+                if (!cycle.isEmpty() || current.equals(node)) cycle.add(current);
+
+            cycle.add(node);
+            return cycle;
+        }
+
+        if (!visited.add(node)) return null;
+
+        path.addLast(node);
+        onPath.add(node);
+
+        for (ComponentData dependency : dependencies.get(node)) {
+            List<ComponentData> cycle = findCycle(dependency, visited, path, onPath);
+            if (cycle != null) return cycle;
+        }
+
+        path.removeLast();
+        onPath.remove(node);
+
+        return null;
+    }
+
+}
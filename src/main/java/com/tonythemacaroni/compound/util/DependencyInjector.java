@@ -0,0 +1,38 @@
+package com.tonythemacaroni.compound.util;
+
+import lombok.Getter;
+import lombok.AccessLevel;
+
+import java.lang.reflect.Field;
+
+import com.tonythemacaroni.compound.annotations.Inject;
+
+@Getter
+public final class DependencyInjector {
+
+    private final Field field;
+    private final String component;
+
+    @Getter(AccessLevel.NONE)
+    private final FieldSetter setter;
+
+    DependencyInjector(Field field, Inject inject) {
+        this.field = field;
+
+        component = inject.value().isEmpty() ? null : inject.value();
+        setter = new FieldSetter(field);
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public String getReference() {
+        return component != null ? component : ComponentIndex.CLASS_REFERENCE + field.getType().getName();
+    }
+
+    public void set(Object target, Object value) {
+        setter.set(target, value);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.tonythemacaroni.compound.util;
+
+import lombok.Getter;
+import lombok.AccessLevel;
+
+import java.util.List;
+import java.lang.reflect.Type;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+import java.lang.reflect.ParameterizedType;
+
+import com.tonythemacaroni.compound.annotations.Config;
+import com.tonythemacaroni.compound.annotations.Resolve;
+
+@Getter
+public final class FieldInjector {
+
+    private final Field field;
+    private final String key;
+    private final String path;
+    private final Class<?> type;
+    private final Class<?> elementType;
+    private final boolean required;
+    private final boolean colorize;
+
+    private final Class<?> resolveFrom;
+    private final Class<? extends Function<?, ?>> resolverClass;
+    private final boolean resolverMatching;
+    private final ReflectiveOperationException resolverException;
+
+    @Getter(AccessLevel.NONE)
+    private final FieldSetter setter;
+
+    FieldInjector(Field field, Config config) {
+        this.field = field;
+
+        key = config.key().isEmpty() ? field.getName() : config.key();
+        path = config.path().isEmpty() ? null : config.path();
+        type = ConverterRegistry.wrap(field.getType());
+        elementType = List.class.isAssignableFrom(field.getType()) ? listElementType(field) : null;
+        required = config.required();
+        colorize = config.colorize();
+
+        Resolve resolve = field.getAnnotation(Resolve.class);
+        boolean resolverMatching = true;
+        ReflectiveOperationException resolverException = null;
+
+        if (resolve != null) {
+            try {
+                Method apply = resolve.resolver().getMethod("apply", resolve.from());
+                resolverMatching = field.getType().isAssignableFrom(apply.getReturnType());
+            } catch (ReflectiveOperationException e) {
+                resolverException = e;
+            }
+        }
+
+        this.resolveFrom = resolve == null ? null : resolve.from();
+        this.resolverClass = resolve == null ? null : resolve.resolver();
+        this.resolverMatching = resolverMatching;
+        this.resolverException = resolverException;
+
+        setter = new FieldSetter(field);
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public boolean hasResolver() {
+        return resolveFrom != null;
+    }
+
+    public RuntimeException getSetterException() {
+        return setter.getException();
+    }
+
+    public void set(Object target, Object value) {
+        setter.set(target, value);
+    }
+
+    public Object get(Object target) {
+        try {
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Class<?> listElementType(Field field) {
+        Type genericType = field.getGenericType();
+        if (!(genericType instanceof ParameterizedType)) return null;
+
+        Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+        return argument instanceof Class && argument != Object.class ? (Class<?>) argument : null;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.tonythemacaroni.compound.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+final class FieldSetter {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MethodHandle setter;
+    private final RuntimeException exception;
+
+    FieldSetter(Field field) {
+        MethodHandle setter = null;
+        RuntimeException exception = null;
+
+        try {
+            field.setAccessible(true);
+            setter = createSetter(field);
+        } catch (RuntimeException e) {
+            exception = e;
+        }
+
+        this.setter = setter;
+        this.exception = exception;
+    }
+
+    RuntimeException getException() {
+        return exception;
+    }
+
+    void set(Object target, Object value) {
+        if (exception != null) throw exception;
+
+        try {
+            setter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static MethodHandle createSetter(Field field) {
+        MethodHandle setter;
+
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) setter = MethodHandles.dropArguments(setter, 0, Object.class);
+        } catch (IllegalAccessException e) {
+            // Final fields can only be written through Field#set, even when accessible.
+            try {
+                setter = MethodHandles.lookup()
+                    .findVirtual(Field.class, "set", SETTER_TYPE)
+                    .bindTo(field);
+            } catch (NoSuchMethodException | IllegalAccessException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        return setter.asType(SETTER_TYPE);
+    }
+
+}
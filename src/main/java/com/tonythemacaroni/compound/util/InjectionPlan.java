@@ -0,0 +1,92 @@
+package com.tonythemacaroni.compound.util;
+
+import lombok.Getter;
+
+import java.util.Set;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.lang.reflect.Field;
+
+import com.tonythemacaroni.compound.annotations.Config;
+import com.tonythemacaroni.compound.annotations.Inject;
+
+@Getter
+public final class InjectionPlan {
+
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<InjectionPlan>() {
+
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return new InjectionPlan(type);
+        }
+
+    };
+
+    private final Class<?> type;
+    private final List<Level> levels;
+    private final Set<String> configPaths;
+    private final List<DependencyInjector> dependencies;
+    private final List<DependencyInjector> schedulers;
+
+    private InjectionPlan(Class<?> type) {
+        this.type = type;
+
+        List<Level> levels = new ArrayList<>();
+        Set<String> configPaths = new LinkedHashSet<>();
+        List<DependencyInjector> dependencies = new ArrayList<>();
+        List<DependencyInjector> schedulers = new ArrayList<>();
+
+        Class<?> current = type;
+        while (current != null && current != Object.class) {
+            Config classConfig = current.getAnnotation(Config.class);
+            if (classConfig != null && !classConfig.path().isEmpty()) configPaths.add(classConfig.path());
+
+            List<FieldInjector> fields = new ArrayList<>();
+            for (Field field : current.getDeclaredFields()) {
+                Inject inject = field.getAnnotation(Inject.class);
+                if (inject != null) {
+                    DependencyInjector injector = new DependencyInjector(field, inject);
+
+                    if (field.getType() == ComponentScheduler.class) schedulers.add(injector);
+                    else dependencies.add(injector);
+                }
+
+                Config config = field.getAnnotation(Config.class);
+                if (config == null) continue;
+
+                fields.add(new FieldInjector(field, config));
+                if (!config.path().isEmpty()) configPaths.add(config.path());
+            }
+
+            levels.add(new Level(current, classConfig == null ? null : classConfig.path(), fields));
+            current = current.getSuperclass();
+        }
+
+        this.levels = Collections.unmodifiableList(levels);
+        this.configPaths = Collections.unmodifiableSet(configPaths);
+        this.dependencies = Collections.unmodifiableList(dependencies);
+        this.schedulers = Collections.unmodifiableList(schedulers);
+    }
+
+    public static InjectionPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    @Getter
+    public static final class Level {
+
+        private final Class<?> type;
+        private final String path;
+        private final List<FieldInjector> fields;
+
+        private Level(Class<?> type, String path, List<FieldInjector> fields) {
+            this.type = type;
+            this.path = path;
+            this.fields = Collections.unmodifiableList(fields);
+        }
+
+    }
+
+}
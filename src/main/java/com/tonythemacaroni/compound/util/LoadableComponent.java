@@ -1,9 +1,15 @@
 package com.tonythemacaroni.compound.util;
 
+import java.util.Set;
+
 public abstract class LoadableComponent {
 
     public abstract boolean load();
 
     public abstract boolean unload();
 
+    // Called on the main thread after config values from the given paths have been injected again.
+    public void onConfigReload(Set<String> paths) {
+    }
+
 }
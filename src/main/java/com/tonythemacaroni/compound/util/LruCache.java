@@ -0,0 +1,25 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Map;
+import java.util.LinkedHashMap;
+
+public class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+    private final int maxSize;
+
+    public LruCache(int maxSize) {
+        super(16, 0.75f, true);
+
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.bukkit.plugin.Plugin;
+
+// Runs callbacks on the main thread in one scheduled task per tick, however many components queue them.
+public class MainThreadQueue implements Executor {
+
+    private final Plugin plugin;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public MainThreadQueue(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queue.add(task);
+        if (!scheduled.compareAndSet(false, true)) return;
+
+        try {
+            plugin.getServer().getScheduler().runTask(plugin, this::drain);
+        } catch (RuntimeException e) {
+            queue.remove(task);
+            scheduled.set(false);
+
+            throw e;
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private void drain() {
+        scheduled.set(false);
+
+        // Callbacks queued while draining run in the next tick's task.
+        for (int i = queue.size(); i > 0; i--) {
+            Runnable task = queue.poll();
+            if (task == null) break;
+
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                plugin.getLogger().severe("Error in main thread callback.");
+                e.printStackTrace();
+            }
+        }
+    }
+
+}
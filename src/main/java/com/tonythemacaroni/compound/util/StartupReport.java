@@ -0,0 +1,120 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+public class StartupReport {
+
+    private final String pluginName;
+    private final long wallNanos;
+    private final DependencyGraph graph;
+    private final Collection<ComponentData> components;
+    private final List<ComponentData> order;
+
+    public StartupReport(String pluginName, long wallNanos, DependencyGraph graph, Collection<ComponentData> components,
+                         List<ComponentData> order) {
+        this.pluginName = pluginName;
+        this.wallNanos = wallNanos;
+        this.graph = graph;
+        this.components = components;
+        this.order = order;
+    }
+
+    public List<ComponentData> getCriticalPath() {
+        Map<ComponentData, Long> finish = new HashMap<>();
+        Map<ComponentData, ComponentData> previous = new HashMap<>();
+
+        ComponentData last = null;
+        for (ComponentData cd : order) {
+            long start = 0;
+
+            for (ComponentData depend : graph.getDependencies(cd)) {
+                long dependFinish = finish.getOrDefault(depend, 0L);
+
+                if (dependFinish > start) {
+                    start = dependFinish;
+                    previous.put(cd, depend);
+                }
+            }
+
+            long end = start + cd.getTimings().getTotalLoadNanos();
+            finish.put(cd, end);
+
+            if (last == null || end > finish.get(last)) last = cd;
+        }
+
+        List<ComponentData> path = new ArrayList<>();
+        for (ComponentData cd = last; cd != null; cd = previous.get(cd)) path.add(cd);
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    public String render() {
+        StringBuilder builder = new StringBuilder();
+
+        Collection<ComponentData> nodes = components;
+        long loaded = nodes.stream().filter(ComponentData::isLoaded).count();
+
+        builder.append("Startup report for ").append(pluginName).append('\n');
+        builder.append("Enabled in ").append(millis(wallNanos)).append(" ms, ").append(loaded).append('/')
+            .append(nodes.size()).append(" components loaded.\n\n");
+
+        builder.append(String.format("%-24s %10s %10s %10s %10s %10s  %s%n",
+            "Component", "Class", "Create", "Inject", "Load", "Total", "Thread"));
+
+        List<ComponentData> sorted = new ArrayList<>(nodes);
+        sorted.sort((a, b) -> Long.compare(b.getTimings().getTotalLoadNanos(), a.getTimings().getTotalLoadNanos()));
+
+        Map<String, List<String>> configReaders = new TreeMap<>();
+        Map<String, Long> configParseNanos = new HashMap<>();
+
+        for (ComponentData cd : sorted) {
+            ComponentTimings timings = cd.getTimings();
+
+            builder.append(String.format("%-24s %10s %10s %10s %10s %10s  %s%s%n",
+                cd.getName(),
+                millis(timings.getClassLoadNanos()),
+                millis(timings.getInstantiateNanos()),
+                millis(timings.getInjectNanos()),
+                millis(timings.getLoadNanos()),
+                millis(timings.getTotalLoadNanos()),
+                timings.getLoadThread() == null ? "-" : timings.getLoadThread(),
+                cd.isLoaded() ? "" : " (failed)"));
+
+            timings.getConfigParseNanos().forEach((path, nanos) -> {
+                configReaders.computeIfAbsent(path, p -> new ArrayList<>()).add(cd.getName());
+                configParseNanos.merge(path, nanos, Math::max);
+            });
+        }
+
+        if (!configReaders.isEmpty()) {
+            builder.append("\nConfig files:\n");
+
+            configReaders.forEach((path, readers) -> builder.append(String.format("  %-40s %10s ms  [%s]%n",
+                path, millis(configParseNanos.get(path)), String.join(", ", readers))));
+        }
+
+        List<ComponentData> criticalPath = getCriticalPath();
+        long criticalNanos = criticalPath.stream().mapToLong(cd -> cd.getTimings().getTotalLoadNanos()).sum();
+
+        builder.append("\nCritical path (").append(millis(criticalNanos)).append(" ms): ");
+        builder.append(criticalPath.stream()
+            .map(cd -> cd.getName() + " (" + millis(cd.getTimings().getTotalLoadNanos()) + " ms)")
+            .collect(Collectors.joining(" -> ")));
+        builder.append('\n');
+
+        return builder.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+}
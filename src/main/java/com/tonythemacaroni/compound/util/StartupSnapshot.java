@@ -0,0 +1,321 @@
+package com.tonythemacaroni.compound.util;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.nio.file.StandardCopyOption;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+@Getter
+public class StartupSnapshot {
+
+    private static final int MAGIC = 0x43534E50;
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte LIST = 6;
+    private static final byte SECTION = 7;
+
+    // Marks a (possibly empty) section in a flattened config.
+    private static final Object SECTION_MARKER = new Object();
+
+    private final long jarSize;
+    private final long jarModified;
+    private final String version;
+    private final List<ComponentIndex.Entry> entries;
+    private final List<String> order;
+    private final Map<String, ConfigState> configs;
+
+    public StartupSnapshot(long jarSize, long jarModified, String version, List<ComponentIndex.Entry> entries,
+                           List<String> order, Map<String, ConfigState> configs) {
+        this.jarSize = jarSize;
+        this.jarModified = jarModified;
+        this.version = version;
+        this.entries = Collections.unmodifiableList(entries);
+        this.order = Collections.unmodifiableList(order);
+        this.configs = Collections.unmodifiableMap(configs);
+    }
+
+    public boolean matches(long jarSize, long jarModified, String version) {
+        return this.jarSize == jarSize && this.jarModified == jarModified && this.version.equals(version);
+    }
+
+    // Returns null if the file was written by an incompatible version.
+    public static StartupSnapshot read(Path file) throws IOException {
+        // Read onto the heap rather than mapped, a mapping keeps the file from being replaced on Windows until the
+        // buffer is collected.
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        try {
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+
+            long jarSize = buffer.getLong();
+            long jarModified = buffer.getLong();
+            String version = readString(buffer);
+
+            int entryCount = readCount(buffer);
+            List<ComponentIndex.Entry> entries = new ArrayList<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                String name = readString(buffer);
+                String className = readString(buffer);
+                String description = readString(buffer);
+                String[] depends = readStrings(buffer);
+                String[] configPaths = readStrings(buffer);
+
+                int propertyCount = readCount(buffer);
+                Map<String, String> properties = new LinkedHashMap<>();
+                for (int j = 0; j < propertyCount; j++) properties.put(readString(buffer), readString(buffer));
+
+                String[] injects = readStrings(buffer);
+
+                entries.add(new ComponentIndex.Entry(name, className, description, depends, configPaths, properties,
+                    injects));
+            }
+
+            List<String> order = new ArrayList<>();
+            Collections.addAll(order, readStrings(buffer));
+
+            int configCount = readCount(buffer);
+            Map<String, ConfigState> configs = new HashMap<>();
+            for (int i = 0; i < configCount; i++) {
+                String path = readString(buffer);
+                long modified = buffer.getLong();
+                long size = buffer.getLong();
+
+                int valueCount = readCount(buffer);
+                Map<String, Object> values = new LinkedHashMap<>();
+                for (int j = 0; j < valueCount; j++) values.put(readString(buffer), readValue(buffer));
+
+                configs.put(path, new ConfigState(modified, size, values));
+            }
+
+            return new StartupSnapshot(jarSize, jarModified, version, entries, order, configs);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Snapshot '" + file + "' is truncated or corrupt.", e);
+        }
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (OutputStream stream = Files.newOutputStream(temp)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(jarSize);
+            output.writeLong(jarModified);
+            writeString(output, version);
+
+            output.writeInt(entries.size());
+            for (ComponentIndex.Entry entry : entries) {
+                writeString(output, entry.getName());
+                writeString(output, entry.getClassName());
+                writeString(output, entry.getDescription());
+                writeStrings(output, entry.getDepends());
+                writeStrings(output, entry.getConfigPaths());
+
+                output.writeInt(entry.getProperties().size());
+                for (Map.Entry<String, String> property : entry.getProperties().entrySet()) {
+                    writeString(output, property.getKey());
+                    writeString(output, property.getValue());
+                }
+
+                writeStrings(output, entry.getInjects());
+            }
+
+            writeStrings(output, order.toArray(new String[0]));
+
+            output.writeInt(configs.size());
+            for (Map.Entry<String, ConfigState> config : configs.entrySet()) {
+                ConfigState state = config.getValue();
+
+                writeString(output, config.getKey());
+                output.writeLong(state.modified);
+                output.writeLong(state.size);
+
+                output.writeInt(state.values.size());
+                for (Map.Entry<String, Object> value : state.values.entrySet()) {
+                    writeString(output, value.getKey());
+                    writeValue(output, value.getValue());
+                }
+            }
+
+            output.flush();
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Returns null if the section holds values that cannot be stored in a snapshot.
+    public static Map<String, Object> flatten(ConfigurationSection section) {
+        Map<String, Object> values = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+            Object value = entry.getValue();
+
+            if (value instanceof ConfigurationSection) values.put(entry.getKey(), SECTION_MARKER);
+            else if (isSupported(value)) values.put(entry.getKey(), value);
+            else return null;
+        }
+
+        return values;
+    }
+
+    public static YamlConfiguration restore(Map<String, Object> values) {
+        YamlConfiguration config = new YamlConfiguration();
+
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() == SECTION_MARKER) config.createSection(entry.getKey());
+            else config.set(entry.getKey(), entry.getValue());
+        }
+
+        return config;
+    }
+
+    private static boolean isSupported(Object value) {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long
+            || value instanceof Double || value instanceof Boolean) return true;
+
+        if (!(value instanceof List)) return false;
+
+        for (Object element : (List<?>) value)
+            if (!isSupported(element)) return false;
+
+        return true;
+    }
+
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) output.writeByte(NULL);
+        else if (value == SECTION_MARKER) output.writeByte(SECTION);
+        else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+
+            output.writeByte(LIST);
+            output.writeInt(list.size());
+            for (Object element : list) writeValue(output, element);
+        } else throw new IOException("Unsupported snapshot value type '" + value.getClass().getName() + "'.");
+    }
+
+    private static Object readValue(ByteBuffer buffer) {
+        byte type = buffer.get();
+
+        switch (type) {
+            case NULL:
+                return null;
+            case SECTION:
+                return SECTION_MARKER;
+            case STRING:
+                return readString(buffer);
+            case INTEGER:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case DOUBLE:
+                return buffer.getDouble();
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case LIST:
+                int size = readCount(buffer);
+
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(readValue(buffer));
+
+                return list;
+            default:
+                throw new IllegalArgumentException("Unknown snapshot value type '" + type + "'.");
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readCount(buffer)];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutputStream output, String[] strings) throws IOException {
+        output.writeInt(strings.length);
+        for (String string : strings) writeString(output, string);
+    }
+
+    private static String[] readStrings(ByteBuffer buffer) {
+        String[] strings = new String[readCount(buffer)];
+        for (int i = 0; i < strings.length; i++) strings[i] = readString(buffer);
+
+        return strings;
+    }
+
+    // Every counted element takes at least one byte, so larger counts can only come from a corrupt file.
+    private static int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) throw new IllegalArgumentException("Invalid count '" + count + "'.");
+
+        return count;
+    }
+
+    @Getter
+    public static final class ConfigState {
+
+        private final long modified;
+        private final long size;
+        private final Map<String, Object> values;
+
+        public ConfigState(long modified, long size, Map<String, Object> values) {
+            this.modified = modified;
+            this.size = size;
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.tonythemacaroni.compound.util;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class ValidationReport {
+
+    public enum Severity {
+        // The component would fail to load.
+        ERROR,
+        // The field would be skipped and keep its default value.
+        WARNING
+    }
+
+    private final List<Problem> problems = new ArrayList<>();
+
+    public synchronized void add(Problem problem) {
+        problems.add(problem);
+    }
+
+    // Adds the problem unless the report already has the same one, for problems found through more than one field.
+    public synchronized boolean addIfAbsent(Problem problem) {
+        for (Problem existing : problems)
+            if (existing.isSame(problem)) return false;
+
+        problems.add(problem);
+        return true;
+    }
+
+    public synchronized List<Problem> getProblems() {
+        return Collections.unmodifiableList(new ArrayList<>(problems));
+    }
+
+    public synchronized int count(Severity severity) {
+        int count = 0;
+        for (Problem problem : problems)
+            if (problem.severity == severity) count++;
+
+        return count;
+    }
+
+    public boolean isValid() {
+        return count(Severity.ERROR) == 0;
+    }
+
+    public synchronized String format() {
+        StringBuilder builder = new StringBuilder();
+
+        for (Problem problem : problems) {
+            builder.append(problem.severity).append(' ');
+            if (problem.component != null) builder.append('[').append(problem.component).append("] ");
+            builder.append(problem.message).append('\n');
+        }
+
+        builder.append(count(Severity.ERROR)).append(" error(s), ").append(count(Severity.WARNING))
+            .append(" warning(s).");
+
+        return builder.toString();
+    }
+
+    @Getter
+    public static final class Problem {
+
+        private final Severity severity;
+        // The component the field belongs to, or null when validating a plain object.
+        private final String component;
+        private final String className;
+        private final String field;
+        private final String path;
+        private final String key;
+        private final String message;
+
+        public Problem(Severity severity, String component, String className, String field, String path, String key,
+                       String message) {
+            this.severity = severity;
+            this.component = component;
+            this.className = className;
+            this.field = field;
+            this.path = path;
+            this.key = key;
+            this.message = message;
+        }
+
+        private boolean isSame(Problem other) {
+            return severity == other.severity && Objects.equals(component, other.component)
+                && Objects.equals(className, other.className) && Objects.equals(field, other.field)
+                && Objects.equals(path, other.path) && Objects.equals(key, other.key)
+                && Objects.equals(message, other.message);
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ScheduledExecutorService;
+
+// Fails components whose load() or unload() overruns its time budget, recording where the stuck thread was.
+public class Watchdog implements AutoCloseable {
+
+    private final ScheduledExecutorService scheduler;
+
+    public Watchdog(String threadName) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    // Watches the current thread. onTimeout may be null and runs on the watchdog thread after the component is failed.
+    // Only threads the caller owns may be interrupted: an interrupt closes any interruptible channel the thread is
+    // using, which on the server's main thread includes the server's own.
+    public Watch watch(ComponentData componentData, String phase, long timeoutMillis, boolean interrupt,
+                       Runnable onTimeout) {
+        Watch watch = new Watch(componentData, phase, timeoutMillis, Thread.currentThread(), interrupt, onTimeout);
+        watch.future = scheduler.schedule(watch::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+
+        return watch;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    public static final class Watch {
+
+        private final ComponentData componentData;
+        private final String phase;
+        private final long timeoutMillis;
+        private final Thread thread;
+        private final boolean interrupt;
+        private final Runnable onTimeout;
+
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private volatile ScheduledFuture<?> future;
+
+        private Watch(ComponentData componentData, String phase, long timeoutMillis, Thread thread, boolean interrupt,
+                      Runnable onTimeout) {
+            this.componentData = componentData;
+            this.phase = phase;
+            this.timeoutMillis = timeoutMillis;
+            this.thread = thread;
+            this.interrupt = interrupt;
+            this.onTimeout = onTimeout;
+        }
+
+        private void expire() {
+            if (!done.compareAndSet(false, true)) return;
+
+            String msg = "Component '" + componentData.getName() + "' did not " + phase + " within " + timeoutMillis
+                + " ms.";
+
+            // Carries the stack of the watched thread at the moment the budget ran out.
+            TimeoutException stack = new TimeoutException(msg + " Thread '" + thread.getName() + "' was at:");
+            stack.setStackTrace(thread.getStackTrace());
+
+            componentData.addFailReason(msg);
+            componentData.setFailure(stack);
+            componentData.setFailed(true);
+
+            if (interrupt) thread.interrupt();
+            interrupted.countDown();
+
+            if (onTimeout != null) onTimeout.run();
+        }
+
+        // Returns false if the watch expired first. An interrupt from the watchdog is cleared from the watched thread.
+        public boolean finish() {
+            if (done.compareAndSet(false, true)) {
+                future.cancel(false);
+                return true;
+            }
+
+            try {
+                interrupted.await();
+            } catch (InterruptedException ignored) {
+                // The interrupt being waited for arrived first.
+            }
+
+            if (interrupt) Thread.interrupted();
+            return false;
+        }
+
+    }
+
+}
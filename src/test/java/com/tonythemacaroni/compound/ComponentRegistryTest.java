@@ -0,0 +1,64 @@
+package com.tonythemacaroni.compound;
+
+import java.lang.ref.WeakReference;
+
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+
+import org.junit.jupiter.api.Test;
+
+import com.tonythemacaroni.compound.annotations.Component;
+import com.tonythemacaroni.compound.util.ComponentDescriptor;
+import com.tonythemacaroni.compound.scanned.ScannedComponent;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ComponentRegistryTest {
+
+    // Discovery keeps the descriptors for as long as the plugin is enabled, so nothing in them may hold on to the scan.
+    @Test
+    void scanResultIsCollectableAfterDiscovery() throws InterruptedException {
+        WeakReference<?>[] references = new WeakReference<?>[2];
+        ComponentDescriptor descriptor = scan(references);
+
+        for (int i = 0; i < 100 && (references[0].get() != null || references[1].get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(references[0].get(), "The scan result is still reachable.");
+        assertNull(references[1].get(), "The class info is still reachable.");
+
+        assertEquals(ScannedComponent.class.getName(), descriptor.getClassName());
+        assertEquals("scanned", descriptor.getName());
+        assertEquals("Found by a classpath scan.", descriptor.getDescription());
+        assertArrayEquals(new String[] {"other"}, descriptor.getDepends());
+        assertArrayEquals(new String[] {"scanned.yml"}, descriptor.getConfigPaths());
+        assertTrue(descriptor.isLazy());
+        assertTrue(descriptor.isAsyncUnload());
+    }
+
+    // Scans in its own frame, so the scan result and class info are not kept alive by locals of the test.
+    private static ComponentDescriptor scan(WeakReference<?>[] references) {
+        try (
+            ScanResult result = new ClassGraph()
+                .enableClassInfo()
+                .enableFieldInfo()
+                .enableAnnotationInfo()
+                .acceptPackages(ScannedComponent.class.getPackage().getName(), Component.class.getPackage().getName())
+                .scan()
+        ) {
+            ClassInfo classInfo = result.getClassInfo(ScannedComponent.class.getName());
+
+            references[0] = new WeakReference<>(result);
+            references[1] = new WeakReference<>(classInfo);
+
+            return ComponentRegistry.describe(classInfo);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.tonythemacaroni.compound;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tonythemacaroni.compound.util.ComponentData;
+import com.tonythemacaroni.compound.util.LoadableComponent;
+import com.tonythemacaroni.compound.util.ComponentDescriptor;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class CompoundPluginTest {
+
+    private static volatile TestPlugin plugin;
+
+    @TempDir
+    File folder;
+
+    @AfterEach
+    void disable() {
+        if (plugin != null) plugin.onDisable();
+        plugin = null;
+    }
+
+    // The main thread waits for the batch in onEnable, so waiting for it to load the lazy component would hang.
+    @Test
+    void asyncCallerOfSyncLazyComponentFailsInsteadOfWaiting() {
+        plugin = new TestPlugin(folder);
+        plugin.addComponent("syncLazy", SyncLazy.class, false, true);
+        plugin.addComponent("asyncCaller", AsyncCaller.class, true, false);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> plugin.onEnable());
+
+        ComponentData caller = plugin.getComponentData("asyncCaller");
+        assertTrue(caller.isFailed());
+        assertTrue(caller.getFailure() instanceof IllegalStateException);
+
+        assertFalse(plugin.getComponentData("syncLazy").isLoaded());
+    }
+
+    @Test
+    void asyncCallerOfDeclaredSyncLazyComponentLoads() {
+        plugin = new TestPlugin(folder);
+        plugin.addComponent("syncLazy", SyncLazy.class, false, true);
+        plugin.addComponent("asyncCaller", AsyncCaller.class, true, false, "syncLazy");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> plugin.onEnable());
+
+        assertTrue(plugin.getComponentData("syncLazy").isLoaded());
+        assertTrue(plugin.getComponentData("asyncCaller").isLoaded());
+    }
+
+    @Test
+    void componentThatLoadsPastItsBudgetIsUnloaded() {
+        plugin = new TestPlugin(folder);
+        plugin.addComponent(new ComponentDescriptor(SlowLoad.class.getName(), "slowLoad", "", new String[0],
+            new String[0], new String[0], false, false, false, 50, 0));
+
+        SlowLoad.unloaded = false;
+        plugin.onEnable();
+
+        ComponentData slowLoad = plugin.getComponentData("slowLoad");
+        assertTrue(slowLoad.isFailed());
+        assertNull(slowLoad.getComponent());
+        assertTrue(SlowLoad.unloaded);
+    }
+
+    public static class SyncLazy extends LoadableComponent {
+
+        @Override
+        public boolean load() {
+            return true;
+        }
+
+        @Override
+        public boolean unload() {
+            return true;
+        }
+
+    }
+
+    public static class AsyncCaller extends LoadableComponent {
+
+        @Override
+        public boolean load() {
+            return plugin.getComponent("syncLazy") != null;
+        }
+
+        @Override
+        public boolean unload() {
+            return true;
+        }
+
+    }
+
+    public static class SlowLoad extends LoadableComponent {
+
+        private static volatile boolean unloaded;
+
+        @Override
+        public boolean load() {
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+
+            while (System.nanoTime() < end) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ignored) {
+                    // Loads past its budget whether or not the watchdog interrupts it.
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public boolean unload() {
+            unloaded = true;
+            return true;
+        }
+
+    }
+
+}
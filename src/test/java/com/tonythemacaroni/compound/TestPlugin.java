@@ -0,0 +1,109 @@
+package com.tonythemacaroni.compound;
+
+import java.io.File;
+import java.util.Map;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.logging.Logger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bukkit.Server;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import com.tonythemacaroni.compound.util.ComponentData;
+import com.tonythemacaroni.compound.util.ComponentDescriptor;
+
+// A plugin without a running server. The thread that enables it is the main thread, and since no ticks run, tasks
+// handed to the main thread never run.
+public class TestPlugin extends CompoundPlugin {
+
+    private static final Logger LOGGER = Logger.getLogger("CompoundTest");
+
+    private final Map<String, ComponentData> testComponents = new LinkedHashMap<>();
+    private final AtomicReference<Thread> mainThread;
+
+    public TestPlugin(File dataFolder) {
+        this(dataFolder, new AtomicReference<>());
+    }
+
+    @SuppressWarnings("deprecation")
+    private TestPlugin(File dataFolder, AtomicReference<Thread> mainThread) {
+        super(
+            new JavaPluginLoader(createServer(mainThread)),
+            new PluginDescriptionFile("CompoundTest", "1.0", TestPlugin.class.getName()),
+            dataFolder,
+            new File(dataFolder, "CompoundTest.jar")
+        );
+
+        this.mainThread = mainThread;
+    }
+
+    public void addComponent(String name, Class<?> type, boolean asyncLoad, boolean lazy, String... depends) {
+        addComponent(new ComponentDescriptor(type.getName(), name, name, depends, new String[0], new String[0],
+            asyncLoad, lazy, false, 0, 0));
+    }
+
+    public void addComponent(ComponentDescriptor descriptor) {
+        testComponents.put(descriptor.getName(), new ComponentData(descriptor, getName()));
+    }
+
+    public ComponentData getComponentData(String name) {
+        return testComponents.get(name);
+    }
+
+    @Override
+    public void onEnable() {
+        mainThread.set(Thread.currentThread());
+        super.onEnable();
+    }
+
+    @Override
+    public Logger getLogger() {
+        return LOGGER;
+    }
+
+    @Override
+    protected Map<String, ComponentData> discoverComponents() {
+        return new LinkedHashMap<>(testComponents);
+    }
+
+    @Override
+    protected boolean shouldWatchConfigs() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldUseStartupSnapshot() {
+        return false;
+    }
+
+    private static Server createServer(AtomicReference<Thread> mainThread) {
+        BukkitScheduler scheduler = (BukkitScheduler) Proxy.newProxyInstance(BukkitScheduler.class.getClassLoader(),
+            new Class<?>[] {BukkitScheduler.class}, (proxy, method, args) -> {
+                if (method.getName().equals("callSyncMethod")) return new CompletableFuture<>();
+
+                return defaultValue(method.getReturnType());
+            });
+
+        return (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[] {Server.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("getLogger")) return LOGGER;
+                if (method.getName().equals("getScheduler")) return scheduler;
+                if (method.getName().equals("isPrimaryThread")) return Thread.currentThread() == mainThread.get();
+
+                return defaultValue(method.getReturnType());
+            });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+
+        return null;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.tonythemacaroni.compound.scanned;
+
+import com.tonythemacaroni.compound.annotations.Config;
+import com.tonythemacaroni.compound.annotations.Component;
+
+@Component(name = "scanned", description = "Found by a classpath scan.", depends = {"other"}, lazy = true,
+    asyncUnload = true)
+public class ScannedComponent {
+
+    @Config(path = "scanned.yml")
+    private String message;
+
+}
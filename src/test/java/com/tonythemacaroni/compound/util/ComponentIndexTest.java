@@ -0,0 +1,110 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ComponentIndexTest {
+
+    @Test
+    void roundTripsEntries() throws IOException {
+        Map<String, String> properties = new TreeMap<>();
+        properties.put("asyncLoad", "true");
+        properties.put("loadTimeout", "250");
+
+        ComponentIndex.Entry first = new ComponentIndex.Entry("first", "com.example.First", "The first component.",
+            new String[] {"second", "other:third"}, new String[] {"first.yml", "shared/messages.yml"}, properties,
+            new String[] {"second", ComponentIndex.CLASS_REFERENCE + "com.example.Second"});
+        ComponentIndex.Entry second = new ComponentIndex.Entry("second", "com.example.Second", "", new String[0],
+            new String[0], Collections.emptyMap(), new String[0]);
+
+        List<ComponentIndex.Entry> entries = roundTrip(Arrays.asList(first, second));
+
+        assertEquals(2, entries.size());
+        assertEntryEquals(first, entries.get(0));
+        assertEntryEquals(second, entries.get(1));
+
+        assertTrue(entries.get(0).getBoolean("asyncLoad"));
+        assertEquals(250, entries.get(0).getLong("loadTimeout"));
+    }
+
+    @Test
+    void roundTripsEscapedValues() throws IOException {
+        Map<String, String> properties = new TreeMap<>();
+        properties.put("key,with,commas", "value=with\tescapes\\");
+
+        ComponentIndex.Entry entry = new ComponentIndex.Entry("escaped", "com.example.Escaped",
+            "Tabs\tcommas, newlines\nand backslashes\\", new String[] {"a,b", "c\\d"}, new String[] {"dir\tname.yml"},
+            properties, new String[] {"line\nbreak"});
+
+        assertEntryEquals(entry, roundTrip(Collections.singletonList(entry)).get(0));
+    }
+
+    @Test
+    void roundTripsDescriptors() throws IOException {
+        ComponentDescriptor descriptor = new ComponentDescriptor("com.example.Lazy", "lazy", "Loaded on first use.",
+            new String[] {"first"}, new String[] {"lazy.yml"}, new String[0], false, true, true, 0, 1000);
+
+        ComponentDescriptor read = ComponentDescriptor.fromIndexEntry(
+            roundTrip(Collections.singletonList(descriptor.toIndexEntry())).get(0));
+
+        assertEquals(descriptor.getClassName(), read.getClassName());
+        assertEquals(descriptor.getName(), read.getName());
+        assertEquals(descriptor.getDescription(), read.getDescription());
+        assertArrayEquals(descriptor.getDepends(), read.getDepends());
+        assertArrayEquals(descriptor.getConfigPaths(), read.getConfigPaths());
+        assertArrayEquals(descriptor.getInjects(), read.getInjects());
+        assertEquals(descriptor.isAsyncLoad(), read.isAsyncLoad());
+        assertEquals(descriptor.isLazy(), read.isLazy());
+        assertEquals(descriptor.isAsyncUnload(), read.isAsyncUnload());
+        assertEquals(descriptor.getLoadTimeout(), read.getLoadTimeout());
+        assertEquals(descriptor.getUnloadTimeout(), read.getUnloadTimeout());
+    }
+
+    @Test
+    void ignoresOlderIndexes() throws IOException {
+        byte[] index = "compound-index 1\nname\tcom.example.Name\t\t\t\n".getBytes(StandardCharsets.UTF_8);
+
+        assertNull(ComponentIndex.read(new ByteArrayInputStream(index)));
+    }
+
+    @Test
+    void rejectsUnknownHeader() {
+        byte[] index = "compound-index 0\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> ComponentIndex.read(new ByteArrayInputStream(index)));
+    }
+
+    private static List<ComponentIndex.Entry> roundTrip(List<ComponentIndex.Entry> entries) throws IOException {
+        StringWriter writer = new StringWriter();
+        ComponentIndex.write(writer, entries);
+
+        byte[] index = writer.toString().getBytes(StandardCharsets.UTF_8);
+        return ComponentIndex.read(new ByteArrayInputStream(index));
+    }
+
+    private static void assertEntryEquals(ComponentIndex.Entry expected, ComponentIndex.Entry actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getClassName(), actual.getClassName());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertArrayEquals(expected.getDepends(), actual.getDepends());
+        assertArrayEquals(expected.getConfigPaths(), actual.getConfigPaths());
+        assertEquals(expected.getProperties(), actual.getProperties());
+        assertArrayEquals(expected.getInjects(), actual.getInjects());
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.tonythemacaroni.compound.util;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class StartupSnapshotTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void roundTripsSnapshots() throws IOException {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("lazy", "true");
+
+        List<ComponentIndex.Entry> entries = Arrays.asList(
+            new ComponentIndex.Entry("first", "com.example.First", "The first component.", new String[0],
+                new String[] {"first.yml"}, Collections.emptyMap(), new String[0]),
+            new ComponentIndex.Entry("second", "com.example.Second", "", new String[] {"first"}, new String[0],
+                properties, new String[] {ComponentIndex.CLASS_REFERENCE + "com.example.First"})
+        );
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("name", "Compound");
+        values.put("count", 3);
+        values.put("seed", 1L << 40);
+        values.put("ratio", 0.5);
+        values.put("enabled", true);
+        values.put("missing", null);
+        values.put("lines", Arrays.asList("one", 2, Arrays.asList(false, null)));
+
+        Map<String, StartupSnapshot.ConfigState> configs = new HashMap<>();
+        configs.put("first.yml", new StartupSnapshot.ConfigState(1234, 56, values));
+
+        StartupSnapshot snapshot = new StartupSnapshot(4096, 5678, "1.0.0", entries, Arrays.asList("first", "second"),
+            configs);
+
+        Path file = folder.resolve("startup.snapshot");
+        snapshot.write(file);
+        StartupSnapshot read = StartupSnapshot.read(file);
+
+        assertTrue(read.matches(4096, 5678, "1.0.0"));
+        assertFalse(read.matches(4096, 5679, "1.0.0"));
+
+        assertEquals(2, read.getEntries().size());
+        for (int i = 0; i < entries.size(); i++) {
+            ComponentIndex.Entry expected = entries.get(i);
+            ComponentIndex.Entry actual = read.getEntries().get(i);
+
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getClassName(), actual.getClassName());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertArrayEquals(expected.getDepends(), actual.getDepends());
+            assertArrayEquals(expected.getConfigPaths(), actual.getConfigPaths());
+            assertEquals(expected.getProperties(), actual.getProperties());
+            assertArrayEquals(expected.getInjects(), actual.getInjects());
+        }
+
+        assertEquals(Arrays.asList("first", "second"), read.getOrder());
+
+        StartupSnapshot.ConfigState state = read.getConfigs().get("first.yml");
+        assertEquals(1234, state.getModified());
+        assertEquals(56, state.getSize());
+        assertEquals(values, state.getValues());
+        assertEquals(new ArrayList<>(values.keySet()), new ArrayList<>(state.getValues().keySet()));
+    }
+
+    // Large snapshots used to be memory mapped, which kept the file from being replaced on Windows.
+    @Test
+    void replacesLargeSnapshots() throws IOException {
+        List<ComponentIndex.Entry> entries = new ArrayList<>();
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            entries.add(new ComponentIndex.Entry("component" + i, "com.example.Component" + i,
+                "Component number " + i + ".", new String[0], new String[0], Collections.emptyMap(), new String[0]));
+            order.add("component" + i);
+        }
+
+        StartupSnapshot snapshot = new StartupSnapshot(1, 2, "1.0.0", entries, order, Collections.emptyMap());
+
+        Path file = folder.resolve("startup.snapshot");
+        snapshot.write(file);
+        assertTrue(Files.size(file) > 64 * 1024);
+
+        StartupSnapshot read = StartupSnapshot.read(file);
+        snapshot.write(file);
+
+        assertEquals(order, read.getOrder());
+        assertEquals(order, StartupSnapshot.read(file).getOrder());
+    }
+
+    @Test
+    void ignoresIncompatibleFiles() throws IOException {
+        Path file = folder.resolve("startup.snapshot");
+        Files.write(file, new byte[] {0, 0, 0, 0, 0, 0, 0, 1});
+
+        assertNull(StartupSnapshot.read(file));
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        StartupSnapshot snapshot = new StartupSnapshot(1, 2, "1.0.0", Collections.emptyList(),
+            Collections.emptyList(), Collections.emptyMap());
+
+        Path file = folder.resolve("startup.snapshot");
+        snapshot.write(file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> StartupSnapshot.read(file));
+    }
+
+}